@@ -0,0 +1,87 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chunk load scan for block updatables before and after it read section palettes.
+ * <p>
+ * The chunk is stone up to y=60 with a layer of redstone wire on top, and air above, so that most sections are empty
+ * and a few contain updatables.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkLoadScanBenchmark {
+
+    private Chunk chunk;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> {
+            unit.modifier().fillHeight(-64, 60, Block.STONE);
+            unit.modifier().fillHeight(60, 61, Block.REDSTONE_WIRE);
+        });
+        chunk = instance.loadChunk(0, 0).join();
+
+        BlockUpdatable updatable = (updateInstance, pos, info) -> {
+        };
+        for (Block state : Block.REDSTONE_WIRE.possibleStates()) {
+            BlockUpdateManager.registerUpdatable(state.stateId(), updatable);
+        }
+    }
+
+    /**
+     * The scan before the change: a {@link Chunk#getBlock} call for every position of the chunk.
+     */
+    @Benchmark
+    public LongList getBlockScan() {
+        LongList positions = new LongArrayList();
+        int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+        int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+        int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+        for (int x = minX; x < minX + Chunk.CHUNK_SIZE_X; x++) {
+            for (int z = minZ; z < minZ + Chunk.CHUNK_SIZE_Z; z++) {
+                for (int y = minY; y < maxY; y++) {
+                    Block block = chunk.getBlock(x, y, z);
+                    if (!BlockUpdateManager.isUpdatable(block.stateId())) continue;
+                    positions.add(PackedBlockPos.pack(x, y, z));
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * The scan after the change: the palettes are copied, then read with {@link
+     * net.minestom.server.instance.palette.Palette#getAllPresent}, skipping empty sections.
+     */
+    @Benchmark
+    public LongList paletteScan() {
+        return BlockUpdateManager.findUpdatables(chunk.getChunkX(), chunk.getChunkZ(), chunk.getMinSection(),
+                BlockUpdateManager.copyPalettes(chunk));
+    }
+
+    /**
+     * The copy made on the tick thread alone, the only part of the scan that still runs there.
+     */
+    @Benchmark
+    public Object copyPalettes() {
+        return BlockUpdateManager.copyPalettes(chunk);
+    }
+}
@@ -1,8 +1,10 @@
 package net.minestom.vanilla;
 
 import net.minestom.server.utils.NamespaceID;
+import net.minestom.vanilla.blockupdatesystem.BlockTickPass;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
 import net.minestom.vanilla.randomticksystem.RandomTickManager;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
 import org.jetbrains.annotations.NotNull;
 
 public class BlockUpdateFeature implements VanillaReimplementation.Feature {
@@ -10,6 +12,8 @@ public class BlockUpdateFeature implements VanillaReimplementation.Feature {
     public void hook(@NotNull VanillaReimplementation vri, @NotNull VanillaRegistry registry) {
         BlockUpdateManager.init(vri.process().eventHandler());
         RandomTickManager.init(vri);
+        ScheduledTickManager.init(vri.process().eventHandler());
+        BlockTickPass.init(vri);
     }
 
     @Override
@@ -0,0 +1,44 @@
+package net.minestom.vanilla.blockupdatesystem;
+
+import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.randomticksystem.RandomTickManager;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
+import org.jetbrains.annotations.NotNull;
+import org.tinylog.Logger;
+
+/**
+ * Runs all the block logic of an instance in a single pass per tick, in vanilla order: first the scheduled block and
+ * fluid ticks, then the neighbour updates they caused, then the random ticks.
+ */
+public class BlockTickPass {
+
+    // Passes taking longer than a full tick are logged
+    private static final long SLOW_PASS_NANOS = 50_000_000L;
+
+    private BlockTickPass() {
+    }
+
+    public static void init(@NotNull VanillaReimplementation vri) {
+        RandomTickManager randomTickManager = RandomTickManager.create(vri);
+        vri.process().eventHandler().addListener(InstanceTickEvent.class,
+                event -> tick(event.getInstance(), randomTickManager));
+    }
+
+    private static void tick(@NotNull Instance instance, @NotNull RandomTickManager randomTickManager) {
+        long start = System.nanoTime();
+        ScheduledTickManager.from(instance).tick();
+        long scheduled = System.nanoTime();
+        BlockUpdateManager.from(instance).tick();
+        long updates = System.nanoTime();
+        randomTickManager.tick(instance);
+        long end = System.nanoTime();
+
+        if (end - start > SLOW_PASS_NANOS) {
+            Logger.debug("Block tick pass of {} took {}ms (scheduled ticks {}ms, neighbour updates {}ms, random ticks {}ms)",
+                    instance.getUniqueId(), (end - start) / 1_000_000, (scheduled - start) / 1_000_000,
+                    (updates - scheduled) / 1_000_000, (end - updates) / 1_000_000);
+        }
+    }
+}
@@ -11,4 +11,14 @@ public interface BlockUpdatable {
      * @param info The block update info.
      */
     void blockUpdate(@NotNull Instance instance, @NotNull Point pos, @NotNull BlockUpdateInfo info);
+
+    /**
+     * Whether this block should receive an update when its chunk loads. Blocks found in large numbers, like fluids,
+     * should return false so that chunks are not scanned for them.
+     *
+     * @return true to be updated on chunk load
+     */
+    default boolean updatesOnChunkLoad() {
+        return true;
+    }
 }
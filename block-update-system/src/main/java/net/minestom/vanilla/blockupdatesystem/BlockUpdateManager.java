@@ -1,27 +1,34 @@
 package net.minestom.vanilla.blockupdatesystem;
 
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.*;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
-import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.instance.InstanceChunkLoadEvent;
-import net.minestom.server.event.instance.InstanceTickEvent;
 import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.vanilla.instance.BlocksExplodedEvent;
+import net.minestom.vanilla.instance.ChunkTier;
+import net.minestom.vanilla.instance.ChunkTiers;
 import net.minestom.vanilla.randomticksystem.RandomTickManager;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickable;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import net.minestom.vanilla.utils.StateIdTable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A utility class used to facilitate block updates
@@ -32,16 +39,28 @@ public class BlockUpdateManager {
             Collections.synchronizedMap(new WeakHashMap<>());
 
     // Block updatables
-    private static final Short2ObjectMap<BlockUpdatable> blockUpdatables = new Short2ObjectOpenHashMap<>();
+    private static final StateIdTable<BlockUpdatable> blockUpdatables = new StateIdTable<>();
+    // Block updatables that are updated when their chunk loads
+    private static final StateIdTable<BlockUpdatable> chunkLoadUpdatables = new StateIdTable<>();
 
     public static void registerUpdatable(short stateId, @NotNull BlockUpdatable updatable) {
-        synchronized (blockUpdatables) {
-            blockUpdatables.put(stateId, updatable);
-        }
+        blockUpdatables.register(stateId, updatable);
+        if (updatable.updatesOnChunkLoad()) chunkLoadUpdatables.register(stateId, updatable);
+    }
+
+    public static void registerUpdatable(short @NotNull [] stateIds, @NotNull BlockUpdatable updatable) {
+        blockUpdatables.registerAll(stateIds, updatable);
+        if (updatable.updatesOnChunkLoad()) chunkLoadUpdatables.registerAll(stateIds, updatable);
+    }
+
+    /**
+     * @return true if a {@link BlockUpdatable} is registered for this block state
+     */
+    public static boolean isUpdatable(short stateId) {
+        return blockUpdatables.contains(stateId);
     }
 
     public static void init(EventNode<Event> eventNode) {
-        eventNode.addListener(InstanceTickEvent.class, BlockUpdateManager::instanceTick);
         eventNode.addListener(PlayerBlockBreakEvent.class, event ->
                 BlockUpdateManager.from(event.getPlayer().getInstance())
                         .scheduleNeighborsUpdate(event.getBlockPosition(),
@@ -52,41 +71,105 @@ public class BlockUpdateManager {
                         .scheduleNeighborsUpdate(event.getBlockPosition(),
                                 BlockUpdateInfo.PLACE_BLOCK())
         );
+        eventNode.addListener(BlocksExplodedEvent.class, event -> {
+            Instance instance = event.getInstance();
+            BlockUpdateManager manager = BlockUpdateManager.from(instance);
+            for (long pos : event.getPositions()) {
+                manager.scheduleNeighborsUpdate(PackedBlockPos.x(pos), PackedBlockPos.y(pos), PackedBlockPos.z(pos),
+                        BlockUpdateInfo.DESTROY_BLOCK());
+            }
+        });
         eventNode.addListener(InstanceChunkLoadEvent.class, event -> {
-            Chunk chunk = event.getChunk();
-            int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
-            int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
-            int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
-            int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
-
             Instance instance = event.getInstance();
+            Chunk chunk = event.getChunk();
             BlockUpdateManager.from(instance);
 
-            synchronized (blockUpdatables) {
-                for (int x = minX; x < minX + Chunk.CHUNK_SIZE_X; x++) {
-                    for (int z = minZ; z < minZ + Chunk.CHUNK_SIZE_Z; z++) {
-                        for (int y = minY; y < maxY; y++) {
-                            Block block = chunk.getBlock(x, y, z);
-                            BlockUpdatable updatable = blockUpdatables.get(block.stateId());
-                            if (updatable == null) continue;
-                            updatable.blockUpdate(instance, new Vec(x, y, z), BlockUpdateInfo.CHUNK_LOAD());
-                        }
-                    }
-                }
-            }
+            // Copy the palettes during the next instance tick, so that they are never read while being written to,
+            // scan the copies off the tick thread, then update the blocks during the following tick
+            if (chunkLoadUpdatables.isEmpty()) return;
+            instance.scheduleNextTick(ignored -> {
+                if (!chunk.isLoaded()) return;
+                Palette[] palettes = copyPalettes(chunk);
+                int chunkX = chunk.getChunkX();
+                int chunkZ = chunk.getChunkZ();
+                int minSection = chunk.getMinSection();
+                CompletableFuture.supplyAsync(() -> findUpdatables(chunkX, chunkZ, minSection, palettes))
+                        .thenAccept(positions -> {
+                            if (positions.isEmpty()) return;
+                            instance.scheduleNextTick(next -> chunkLoadUpdate(instance, chunk, positions));
+                        })
+                        .exceptionally(throwable -> {
+                            MinecraftServer.getExceptionManager().handleException(throwable);
+                            return null;
+                        });
+            });
         });
     }
 
-    private static void instanceTick(InstanceTickEvent event) {
-        Instance instance = event.getInstance();
-        from(instance).tick(event.getDuration());
+    /**
+     * Copies the block palettes of this chunk, from its minimum section up. Empty sections are left null.
+     */
+    static @NotNull Palette[] copyPalettes(@NotNull Chunk chunk) {
+        Palette[] palettes = new Palette[chunk.getMaxSection() - chunk.getMinSection()];
+        for (int i = 0; i < palettes.length; i++) {
+            Palette palette = chunk.getSection(chunk.getMinSection() + i).blockPalette();
+            if (palette.count() == 0) continue;
+            palettes[i] = palette.clone();
+        }
+        return palettes;
+    }
+
+    /**
+     * Finds the positions of all blocks in these palettes that have a registered {@link BlockUpdatable} updated on
+     * chunk load.
+     *
+     * @param chunkX     the chunk x coordinate
+     * @param chunkZ     the chunk z coordinate
+     * @param minSection the section of the first palette
+     * @param palettes   the copied palettes, see {@link #copyPalettes(Chunk)}
+     */
+    static @NotNull LongList findUpdatables(int chunkX, int chunkZ, int minSection, @NotNull Palette[] palettes) {
+        LongList positions = new LongArrayList();
+        int minX = chunkX * Chunk.CHUNK_SIZE_X;
+        int minZ = chunkZ * Chunk.CHUNK_SIZE_Z;
+        for (int i = 0; i < palettes.length; i++) {
+            Palette palette = palettes[i];
+            if (palette == null) continue;
+            int minY = (minSection + i) * Chunk.CHUNK_SECTION_SIZE;
+            palette.getAllPresent((x, y, z, value) -> {
+                if (!chunkLoadUpdatables.contains(value)) return;
+                positions.add(PackedBlockPos.pack(minX + x, minY + y, minZ + z));
+            });
+        }
+        return positions;
+    }
+
+    private static void chunkLoadUpdate(@NotNull Instance instance, @NotNull Chunk chunk, @NotNull LongList positions) {
+        if (!chunk.isLoaded()) return;
+        for (int i = 0; i < positions.size(); i++) {
+            long pos = positions.getLong(i);
+            int x = PackedBlockPos.x(pos);
+            int y = PackedBlockPos.y(pos);
+            int z = PackedBlockPos.z(pos);
+
+            // The block may have changed since the scan
+            Block block = chunk.getBlock(x, y, z);
+            BlockUpdatable updatable = chunkLoadUpdatables.get(block.stateId());
+            if (updatable == null) continue;
+            updatable.blockUpdate(instance, new Vec(x, y, z), BlockUpdateInfo.CHUNK_LOAD());
+        }
     }
 
     public static @NotNull BlockUpdateManager from(@NotNull Instance instance) {
         return instance2BlockUpdateManager.computeIfAbsent(instance, BlockUpdateManager::new);
     }
 
-    private final Map<Point, BlockUpdateInfo> updateNeighbors = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Positions whose neighbours should be updated, by cause
+    private Map<BlockUpdateInfo, LongLinkedOpenHashSet> pendingUpdates = new LinkedHashMap<>();
+    // The updates currently being processed, swapped with the pending updates every tick
+    private Map<BlockUpdateInfo, LongLinkedOpenHashSet> drainingUpdates = new LinkedHashMap<>();
+    // The neighbours that have already been updated for the current cause
+    private final LongOpenHashSet updatedNeighbors = new LongOpenHashSet();
     private final BlockUpdateManager.UpdateHandler updateHandler;
 
     public BlockUpdateManager(@NotNull BlockUpdateManager.UpdateHandler updateHandler) {
@@ -94,68 +177,153 @@ public class BlockUpdateManager {
     }
 
     private BlockUpdateManager(@NotNull Instance instance) {
-        this.updateHandler = (pos, info) -> {
-            if (instance.getBlock(pos).handler() instanceof BlockUpdatable updatable) {
-                updatable.blockUpdate(instance, pos, info);
-            }
-        };
+        this.updateHandler = new InstanceUpdateHandler(instance);
     }
 
     public static void registerRandomTickable(short stateId, RandomTickable randomTickable) {
         RandomTickManager.registerRandomTickable(stateId, randomTickable);
     }
 
+    public static void registerScheduledTickable(@NotNull Block block, ScheduledTickable scheduledTickable) {
+        ScheduledTickManager.registerScheduledTickable(block, scheduledTickable);
+    }
+
     public interface UpdateHandler {
         void update(@NotNull Point pos, @NotNull BlockUpdateInfo info);
+
+        /**
+         * Updates the block at this position. Implementations may override this method to avoid allocating a
+         * position for blocks that do not need to be updated.
+         */
+        default void update(int x, int y, int z, @NotNull BlockUpdateInfo info) {
+            update(new Vec(x, y, z), info);
+        }
+
+        /**
+         * Called once per tick, before the updates of the tick are handled.
+         */
+        default void beginTick() {
+        }
+    }
+
+    private static final class InstanceUpdateHandler implements UpdateHandler {
+        private final Instance instance;
+        // The tier provider of the instance, resolved once per tick
+        private ChunkTiers.Provider tiers;
+
+        private InstanceUpdateHandler(@NotNull Instance instance) {
+            this.instance = instance;
+            this.tiers = ChunkTiers.of(instance);
+        }
+
+        @Override
+        public void beginTick() {
+            tiers = ChunkTiers.of(instance);
+        }
+
+        @Override
+        public void update(@NotNull Point pos, @NotNull BlockUpdateInfo info) {
+            update(pos.blockX(), pos.blockY(), pos.blockZ(), info);
+        }
+
+        @Override
+        public void update(int x, int y, int z, @NotNull BlockUpdateInfo info) {
+            // Border chunks are loaded but do not react to updates, checked first as it does not need any lock
+            if (!tiers.tier(x >> 4, z >> 4).isAtLeast(ChunkTier.TICKING)) return;
+            if (!instance.isChunkLoaded(x >> 4, z >> 4)) return;
+            Block block = instance.getBlock(x, y, z);
+            BlockUpdatable updatable = blockUpdatables.get(block.stateId());
+            if (updatable == null && block.handler() instanceof BlockUpdatable handler) {
+                updatable = handler;
+            }
+            if (updatable != null) {
+                updatable.blockUpdate(instance, new Vec(x, y, z), info);
+            }
+        }
     }
 
     // Public api methods
 
     /**
      * Schedules this position's neighbors to be updated next tick.
+     * <p>
+     * Each neighbor is updated at most once per tick for the same cause, no matter how many of its neighbors were
+     * scheduled.
+     * </p>
      */
     public void scheduleNeighborsUpdate(Point pos, BlockUpdateInfo info) {
-        updateNeighbors.put(pos, info);
+        scheduleNeighborsUpdate(pos.blockX(), pos.blockY(), pos.blockZ(), info);
+    }
+
+    /**
+     * @see #scheduleNeighborsUpdate(Point, BlockUpdateInfo)
+     */
+    public void scheduleNeighborsUpdate(int x, int y, int z, BlockUpdateInfo info) {
+        long packed = PackedBlockPos.pack(x, y, z);
+        synchronized (this) {
+            pendingUpdates.computeIfAbsent(info, ignored -> new LongLinkedOpenHashSet()).add(packed);
+        }
     }
 
     // Public api methods end
 
-    private void tick(int duration) {
-        updateNeighbors(duration);
+    /**
+     * Updates the neighbours of all the positions scheduled so far, called once per tick by the {@link BlockTickPass}.
+     */
+    void tick() {
+        updateHandler.beginTick();
+        updateNeighbors();
     }
 
-    private void updateNeighbors(int duration) {
-        if (updateNeighbors.size() == 0) {
-            return;
+    private void updateNeighbors() {
+        // Swap the queues, anything scheduled while updating will be processed next tick
+        Map<BlockUpdateInfo, LongLinkedOpenHashSet> updates;
+        synchronized (this) {
+            updates = pendingUpdates;
+            pendingUpdates = drainingUpdates;
+            drainingUpdates = updates;
         }
 
-        // Update all the neighbors
-        for (Map.Entry<Point, BlockUpdateInfo> entry : updateNeighbors.entrySet()) {
-            Point pos = entry.getKey();
-            BlockUpdateInfo info = entry.getValue();
+        for (Map.Entry<BlockUpdateInfo, LongLinkedOpenHashSet> entry : updates.entrySet()) {
+            LongLinkedOpenHashSet positions = entry.getValue();
+            if (positions.isEmpty()) {
+                continue;
+            }
+            BlockUpdateInfo info = entry.getKey();
+            updatedNeighbors.clear();
 
-            int x = pos.blockX();
-            int y = pos.blockY();
-            int z = pos.blockZ();
+            LongIterator iterator = positions.iterator();
+            while (iterator.hasNext()) {
+                long pos = iterator.nextLong();
+                int x = PackedBlockPos.x(pos);
+                int y = PackedBlockPos.y(pos);
+                int z = PackedBlockPos.z(pos);
 
-            // For each surrounding block
-            for (int offsetX = -1; offsetX < 2; offsetX++) {
-                for (int offsetY = -1; offsetY < 2; offsetY++) {
-                    for (int offsetZ = -1; offsetZ < 2; offsetZ++) {
+                // For each surrounding block
+                for (int offsetX = -1; offsetX < 2; offsetX++) {
+                    for (int offsetY = -1; offsetY < 2; offsetY++) {
+                        for (int offsetZ = -1; offsetZ < 2; offsetZ++) {
 
-                        // If block is not the original block
-                        if (offsetX == 0 && offsetY == 0 && offsetZ == 0) {
-                            continue;
-                        }
+                            // If block is not the original block
+                            if (offsetX == 0 && offsetY == 0 && offsetZ == 0) {
+                                continue;
+                            }
 
-                        // Get the block handler at the position
-                        Point blockPos = new Pos(x + offsetX, y + offsetY, z + offsetZ);
-                        updateHandler.update(blockPos, info);
+                            // Skip neighbours that have already been updated for this cause
+                            int blockX = x + offsetX;
+                            int blockY = y + offsetY;
+                            int blockZ = z + offsetZ;
+                            if (!updatedNeighbors.add(PackedBlockPos.pack(blockX, blockY, blockZ))) {
+                                continue;
+                            }
+                            updateHandler.update(blockX, blockY, blockZ, info);
+                        }
                     }
                 }
             }
-        }
 
-        updateNeighbors.clear();
+            // Keep the set around for the next ticks
+            positions.clear();
+        }
     }
 }
@@ -1,28 +1,53 @@
 package net.minestom.vanilla.randomticksystem;
 
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
-import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
+import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.gamerule.GameRule;
+import net.minestom.vanilla.gamerule.GameRules;
+import net.minestom.vanilla.instance.BlockChanges;
+import net.minestom.vanilla.instance.ChunkTier;
+import net.minestom.vanilla.instance.ChunkTiers;
+import net.minestom.vanilla.utils.StateIdTable;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Random;
-import java.util.WeakHashMap;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 public class RandomTickManager {
 
-    private static final @NotNull String RANDOM_TICK_SYSTEM_PROPERTY = "vri.gamerule.randomtickspeed";
+    private static final @NotNull String PARALLEL_SYSTEM_PROPERTY = "vri.randomtick.parallel";
+
+    /**
+     * Whether random ticks are processed in parallel, split across chunk regions.
+     */
+    private static final boolean PARALLEL = Boolean.getBoolean(PARALLEL_SYSTEM_PROPERTY);
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("VRI-RandomTick-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
 
     private static final Map<VanillaReimplementation, RandomTickManager> vri2managers =
             Collections.synchronizedMap(new WeakHashMap<>());
-    private static final Short2ObjectMap<RandomTickable> randomTickables = new Short2ObjectOpenHashMap<>();
+    private static final StateIdTable<RandomTickable> randomTickables = new StateIdTable<>();
+    private static final TickableSectionIndex sectionIndex = new TickableSectionIndex(randomTickables::contains);
 
     private final VanillaReimplementation vri;
     private RandomTickManager(VanillaReimplementation vri) {
@@ -34,50 +59,171 @@ public class RandomTickManager {
     }
 
     public static void init(VanillaReimplementation vri) {
-        RandomTickManager manager = create(vri);
-        vri.process().eventHandler().addListener(InstanceTickEvent.class, event -> {
-            int randomTickCount = Integer.parseInt(System.getProperty(RANDOM_TICK_SYSTEM_PROPERTY, "3"));
-            manager.handleInstanceTick(event, randomTickCount);
+        create(vri);
+        EventNode<Event> eventNode = vri.process().eventHandler();
+        eventNode.addListener(InstanceChunkLoadEvent.class, event -> sectionIndex.invalidate(event.getChunk()));
+        eventNode.addListener(InstanceChunkUnloadEvent.class, event -> sectionIndex.remove(event.getChunk()));
+        eventNode.addListener(PlayerBlockPlaceEvent.class, event ->
+                blockChanged(event.getInstance(), event.getBlockPosition()));
+        eventNode.addListener(PlayerBlockBreakEvent.class, event ->
+                blockChanged(event.getInstance(), event.getBlockPosition()));
+        // A section is only skipped while it is known to hold nothing to tick, so only writes that may add a
+        // tickable block need to forget its count
+        BlockChanges.addListener((instance, chunk, x, y, z, block) -> {
+            if (randomTickables.contains(block.stateId())) {
+                sectionIndex.invalidate(chunk, ChunkUtils.getChunkCoordinate(y));
+            }
         });
     }
 
+    /**
+     * Notifies the random tick system that the block at the given position has changed.
+     * <p>
+     * Player placements and breaks, and the changes made through {@link BlockChanges}, are tracked automatically. Any
+     * other code that places a random tickable block should call this method so that the block's section is not
+     * skipped.
+     * </p>
+     *
+     * @param instance the instance
+     * @param position the position of the changed block
+     */
+    public static void blockChanged(@NotNull Instance instance, @NotNull Point position) {
+        Chunk chunk = instance.getChunkAt(position);
+        if (chunk == null) return;
+        sectionIndex.invalidate(chunk, ChunkUtils.getChunkCoordinate(position.blockY()));
+    }
+
     public static void registerRandomTickable(short stateId, RandomTickable randomTickable) {
-        synchronized (randomTickables) {
-            randomTickables.put(stateId, randomTickable);
-        }
+        randomTickables.register(stateId, randomTickable);
+    }
+
+    /**
+     * Forgets the tickable counts of this chunk, e.g. after it has been modified in bulk.
+     *
+     * @param chunk the chunk
+     */
+    public static void chunkChanged(@NotNull Chunk chunk) {
+        sectionIndex.invalidate(chunk);
     }
 
-    private void handleInstanceTick(InstanceTickEvent event, int randomTickCount) {
-        Instance instance = event.getInstance();
+    /**
+     * Random ticks the loaded chunks of this instance, called once per tick by the block tick pass.
+     *
+     * @param instance the instance
+     */
+    public void tick(@NotNull Instance instance) {
+        int randomTickCount = GameRules.of(instance).getInt(GameRule.RANDOM_TICK_SPEED);
+        if (randomTickCount <= 0) return;
+        if (PARALLEL) {
+            handleInstanceTickParallel(instance, randomTickCount);
+            return;
+        }
         Random instanceRandom = vri.random(instance);
-        synchronized (randomTickables) {
-            for (Chunk chunk : instance.getChunks()) {
-                int minSection = chunk.getMinSection();
-                int maxSection = chunk.getMaxSection();
-                for (int section = minSection; section < maxSection; section++) {
-                    for (int i = 0; i < randomTickCount; i++) {
-                        randomTickSection(instanceRandom, instance, chunk, section);
+        BlockWriter writer = (position, block) -> BlockChanges.setBlock(instance, position, block);
+        ChunkTiers.Provider tiers = ChunkTiers.of(instance);
+        for (Chunk chunk : instance.getChunks()) {
+            if (!isRandomTicking(tiers, chunk)) continue;
+            randomTickChunk(instanceRandom, writer, instance, chunk, randomTickCount);
+        }
+    }
+
+    /**
+     * Splits the loaded chunks into regions and ticks them on the {@link #POOL}.
+     * <p>
+     * Regions are ticked in four phases so that two regions ticking at the same time are never adjacent. Each region
+     * uses its own random, seeded from the instance, the world age and the region position, so that the outcome does
+     * not depend on which worker thread ticks which region. The instance is never written to from the pool: all the
+     * writes are buffered per region, and applied on the tick thread, in region order, once all regions have been
+     * ticked.
+     * </p>
+     */
+    private void handleInstanceTickParallel(Instance instance, int randomTickCount) {
+        Long2ObjectMap<RandomTickRegion> regions = new Long2ObjectOpenHashMap<>();
+        long instanceSeed = instance.getUniqueId().getMostSignificantBits() ^ instance.getUniqueId().getLeastSignificantBits();
+        long worldAge = instance.getWorldAge();
+        ChunkTiers.Provider tiers = ChunkTiers.of(instance);
+        for (Chunk chunk : instance.getChunks()) {
+            if (!isRandomTicking(tiers, chunk)) continue;
+            int regionX = chunk.getChunkX() >> RandomTickRegion.REGION_SHIFT;
+            int regionZ = chunk.getChunkZ() >> RandomTickRegion.REGION_SHIFT;
+            regions.computeIfAbsent(ChunkUtils.getChunkIndex(regionX, regionZ),
+                            ignored -> new RandomTickRegion(instance, regionX, regionZ, instanceSeed, worldAge))
+                    .chunks().add(chunk);
+        }
+
+        long[] regionIndexes = regions.keySet().toLongArray();
+        Arrays.sort(regionIndexes);
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int phase = 0; phase < 4; phase++) {
+            for (long regionIndex : regionIndexes) {
+                RandomTickRegion region = regions.get(regionIndex);
+                if (region.phase() != phase) continue;
+                tasks.add(POOL.submit(() -> {
+                    for (Chunk chunk : region.chunks()) {
+                        randomTickChunk(region.random(), region, instance, chunk, randomTickCount);
                     }
-                }
+                }));
             }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            tasks.clear();
+        }
+
+        // Apply the buffered writes
+        for (long regionIndex : regionIndexes) {
+            regions.get(regionIndex).flush();
         }
     }
 
-    private void randomTickSection(Random random, Instance instance, Chunk chunk, int minSection) {
-        int minX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
-        int minZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
-        int minY = minSection * Chunk.CHUNK_SECTION_SIZE;
+    /**
+     * Random ticks only happen in entity ticking chunks, as in vanilla.
+     */
+    private static boolean isRandomTicking(@NotNull ChunkTiers.Provider tiers, @NotNull Chunk chunk) {
+        return tiers.tier(chunk.getChunkX(), chunk.getChunkZ()).isAtLeast(ChunkTier.ENTITY_TICKING);
+    }
 
-        int x = minX + random.nextInt(Chunk.CHUNK_SIZE_X);
-        int z = minZ + random.nextInt(Chunk.CHUNK_SIZE_Z);
-        int y = minY + random.nextInt(Chunk.CHUNK_SECTION_SIZE);
-        Point pos = new Vec(x, y, z);
+    private void randomTickChunk(Random random, BlockWriter writer, Instance instance, Chunk chunk, int randomTickCount) {
+        int minSection = chunk.getMinSection();
+        int maxSection = chunk.getMaxSection();
+        for (int section = minSection; section < maxSection; section++) {
+            // Skip sections that cannot contain anything to tick
+            if (sectionIndex.count(chunk, section) == 0) continue;
+            Palette palette = chunk.getSection(section).blockPalette();
+            for (int i = 0; i < randomTickCount; i++) {
+                randomTickSection(random, writer, instance, chunk, palette, section);
+            }
+        }
+    }
 
-        Block block = instance.getBlock(x, y, z);
-        RandomTickable randomTickable = randomTickables.get(block.stateId());
+    private void randomTickSection(Random random, BlockWriter writer, Instance instance, Chunk chunk,
+                                   Palette palette, int section) {
+        int sectionX = random.nextInt(Chunk.CHUNK_SIZE_X);
+        int sectionZ = random.nextInt(Chunk.CHUNK_SIZE_Z);
+        int sectionY = random.nextInt(Chunk.CHUNK_SECTION_SIZE);
+
+        // Read the state straight from the palette, only allocate once something has to be ticked
+        RandomTickable randomTickable = randomTickables.get(palette.get(sectionX, sectionY, sectionZ));
         if (randomTickable == null) return;
-        randomTickable.randomTick(new RandomTick(instance, pos, block));
+
+        int x = chunk.getChunkX() * Chunk.CHUNK_SIZE_X + sectionX;
+        int y = section * Chunk.CHUNK_SECTION_SIZE + sectionY;
+        int z = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + sectionZ;
+        Point pos = new Vec(x, y, z);
+        Block block = instance.getBlock(x, y, z);
+        randomTickable.randomTick(new RandomTick(instance, pos, block, random, writer));
     }
 
-    private record RandomTick(Instance instance, Point position, Block block) implements RandomTickable.RandomTick {}
+    interface BlockWriter {
+        void setBlock(@NotNull Point position, @NotNull Block block);
+    }
+
+    private record RandomTick(Instance instance, Point position, Block block, Random random,
+                              BlockWriter writer) implements RandomTickable.RandomTick {
+        @Override
+        public void setBlock(@NotNull Point position, @NotNull Block block) {
+            writer.setBlock(position, block);
+        }
+    }
 }
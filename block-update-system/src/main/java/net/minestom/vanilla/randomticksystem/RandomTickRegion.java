@@ -0,0 +1,84 @@
+package net.minestom.vanilla.randomticksystem;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.instance.BlockChanges;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A square group of chunks that is random ticked independently of the other regions.
+ */
+class RandomTickRegion implements RandomTickManager.BlockWriter {
+
+    /**
+     * Regions are 8x8 chunks.
+     */
+    static final int REGION_SHIFT = 3;
+
+    private final Instance instance;
+    private final int regionX;
+    private final int regionZ;
+    private final Random random;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<BufferedWrite> writes = new ArrayList<>();
+
+    RandomTickRegion(@NotNull Instance instance, int regionX, int regionZ, long instanceSeed, long worldAge) {
+        this.instance = instance;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.random = new Random(seed(instanceSeed, worldAge, regionX, regionZ));
+    }
+
+    @NotNull List<Chunk> chunks() {
+        return chunks;
+    }
+
+    @NotNull Random random() {
+        return random;
+    }
+
+    /**
+     * Regions sharing a phase are never adjacent, so they can be ticked at the same time.
+     *
+     * @return the phase of this region, from 0 to 3
+     */
+    int phase() {
+        return (regionX & 1) | (regionZ & 1) << 1;
+    }
+
+    /**
+     * Buffers a write, regions are ticked off the tick thread so nothing is written to the instance until
+     * {@link #flush()}.
+     */
+    @Override
+    public void setBlock(@NotNull Point position, @NotNull Block block) {
+        writes.add(new BufferedWrite(position, block));
+    }
+
+    /**
+     * Applies the buffered writes of this region, from the tick thread.
+     */
+    void flush() {
+        for (BufferedWrite write : writes) {
+            BlockChanges.setBlock(instance, write.position(), write.block());
+        }
+        writes.clear();
+    }
+
+    private static long seed(long instanceSeed, long worldAge, int regionX, int regionZ) {
+        long seed = instanceSeed;
+        seed = seed * 31 + worldAge;
+        seed = seed * 31 + regionX;
+        seed = seed * 31 + regionZ;
+        return seed;
+    }
+
+    private record BufferedWrite(Point position, Block block) {
+    }
+}
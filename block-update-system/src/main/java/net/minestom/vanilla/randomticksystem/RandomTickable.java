@@ -5,6 +5,8 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Random;
+
 public interface RandomTickable {
 
     void randomTick(@NotNull RandomTick randomTick);
@@ -13,5 +15,22 @@ public interface RandomTickable {
         @NotNull Instance instance();
         @NotNull Point position();
         @NotNull Block block();
+
+        /**
+         * @return the random to use for this tick, this may be shared with other ticks in the same region
+         */
+        @NotNull Random random();
+
+        /**
+         * Sets a block as part of this random tick.
+         * <p>
+         * Use this rather than {@link Instance#setBlock}, as random ticks may run in parallel, in which case writes
+         * are deferred to the end of the tick.
+         * </p>
+         *
+         * @param position the position of the block
+         * @param block    the new block
+         */
+        void setBlock(@NotNull Point position, @NotNull Block block);
     }
 }
@@ -0,0 +1,95 @@
+package net.minestom.vanilla.randomticksystem;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Keeps track of how many random tickable block states each chunk section contains.
+ * <p>
+ * Sections are counted lazily from their palette: a section is marked as unknown when its chunk loads or when one of
+ * its blocks changes, and gets recounted the next time it is queried.
+ * </p>
+ */
+class TickableSectionIndex {
+
+    private static final int UNKNOWN = -1;
+
+    private final Map<Chunk, int[]> chunk2Counts = Collections.synchronizedMap(new WeakHashMap<>());
+    private final IntPredicate isTickable;
+
+    TickableSectionIndex(@NotNull IntPredicate isTickable) {
+        this.isTickable = isTickable;
+    }
+
+    /**
+     * Forgets all counts of this chunk, they will be recounted when next queried.
+     *
+     * @param chunk the chunk
+     */
+    void invalidate(@NotNull Chunk chunk) {
+        chunk2Counts.remove(chunk);
+    }
+
+    /**
+     * Marks a single section of this chunk as changed, it will be recounted when next queried.
+     *
+     * @param chunk   the chunk
+     * @param section the section index (not the array index)
+     */
+    void invalidate(@NotNull Chunk chunk, int section) {
+        int[] counts = chunk2Counts.get(chunk);
+        if (counts == null) return;
+        int index = section - chunk.getMinSection();
+        if (index < 0 || index >= counts.length) return;
+        counts[index] = UNKNOWN;
+    }
+
+    /**
+     * Removes the chunk from this index.
+     *
+     * @param chunk the chunk
+     */
+    void remove(@NotNull Chunk chunk) {
+        chunk2Counts.remove(chunk);
+    }
+
+    /**
+     * Gets the amount of random tickable blocks in the given section, recounting it if it has changed.
+     *
+     * @param chunk   the chunk
+     * @param section the section index (not the array index)
+     * @return the amount of random tickable blocks
+     */
+    int count(@NotNull Chunk chunk, int section) {
+        int[] counts = chunk2Counts.computeIfAbsent(chunk, TickableSectionIndex::unknownCounts);
+        int index = section - chunk.getMinSection();
+        int count = counts[index];
+        if (count == UNKNOWN) {
+            count = countSection(chunk.getSection(section).blockPalette());
+            counts[index] = count;
+        }
+        return count;
+    }
+
+    private int countSection(@NotNull Palette palette) {
+        if (palette.count() == 0) return 0;
+        int[] count = {0};
+        palette.getAllPresent((x, y, z, value) -> {
+            if (isTickable.test(value)) count[0]++;
+        });
+        return count[0];
+    }
+
+    private static int[] unknownCounts(@NotNull Chunk chunk) {
+        int[] counts = new int[chunk.getMaxSection() - chunk.getMinSection()];
+        Arrays.fill(counts, UNKNOWN);
+        return counts;
+    }
+}
@@ -0,0 +1,195 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import net.minestom.server.instance.Chunk;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The scheduled ticks of a single chunk, stored in a hierarchical timing wheel.
+ * <p>
+ * The first level has one slot per game tick for the current 256 ticks, the second level has one slot per 256 ticks
+ * for the current 16384 ticks, anything further away waits in an overflow list. Scheduling and cancelling are O(1),
+ * slots of the upper levels are moved down once their time comes.
+ * </p>
+ */
+class ChunkTickScheduler {
+
+    private static final int LEVEL_0_BITS = 8;
+    private static final int LEVEL_0_SIZE = 1 << LEVEL_0_BITS;
+    private static final int LEVEL_1_BITS = 6;
+    private static final int LEVEL_1_SIZE = 1 << LEVEL_1_BITS;
+    private static final int WHEEL_BITS = LEVEL_0_BITS + LEVEL_1_BITS;
+
+    private final Chunk chunk;
+    private final List<Entry>[] level0 = newLevel(LEVEL_0_SIZE);
+    private final List<Entry>[] level1 = newLevel(LEVEL_1_SIZE);
+    private final List<Entry> overflow = new ArrayList<>();
+    private final Map<Key, Entry> pending = new HashMap<>();
+
+    // The next game tick to drain
+    private long currentTick;
+
+    ChunkTickScheduler(@NotNull Chunk chunk, long currentTick) {
+        this.chunk = chunk;
+        this.currentTick = currentTick;
+    }
+
+    @NotNull Chunk chunk() {
+        return chunk;
+    }
+
+    /**
+     * @return the amount of ticks waiting in this chunk
+     */
+    int size() {
+        return pending.size();
+    }
+
+    boolean isScheduled(long pos, int blockId) {
+        return pending.containsKey(new Key(pos, blockId));
+    }
+
+    /**
+     * Schedules a tick, unless one is already scheduled for this position and block.
+     *
+     * @return false if a tick was already scheduled
+     */
+    boolean schedule(long pos, int blockId, long triggerTick, int priority, long order) {
+        Key key = new Key(pos, blockId);
+        if (pending.containsKey(key)) return false;
+        Entry entry = new Entry(this, key, Math.max(triggerTick, currentTick), priority, order);
+        pending.put(key, entry);
+        insert(entry);
+        return true;
+    }
+
+    /**
+     * Cancels a scheduled tick. The entry stays in its slot and is skipped once drained.
+     */
+    boolean cancel(long pos, int blockId) {
+        Entry entry = pending.remove(new Key(pos, blockId));
+        if (entry == null) return false;
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Re-adds a tick that was drained but could not run within the tick budget.
+     */
+    void reschedule(@NotNull Entry entry, long triggerTick) {
+        if (pending.putIfAbsent(entry.key, entry) != null) return;
+        entry.triggerTick = Math.max(triggerTick, currentTick);
+        insert(entry);
+    }
+
+    /**
+     * Drains all the ticks due up to (including) the given game tick.
+     *
+     * @param tick the current game tick
+     * @param due  the consumer of the due ticks
+     */
+    void drain(long tick, @NotNull Consumer<Entry> due) {
+        if (pending.isEmpty()) {
+            // Nothing to cascade, jump straight to the current tick
+            if (currentTick <= tick) clear(tick + 1);
+            return;
+        }
+        while (currentTick <= tick) {
+            if ((currentTick & (1L << WHEEL_BITS) - 1) == 0) {
+                cascade(overflow);
+            }
+            if ((currentTick & LEVEL_0_SIZE - 1) == 0) {
+                cascade(level1[(int) (currentTick >> LEVEL_0_BITS & LEVEL_1_SIZE - 1)]);
+            }
+            List<Entry> slot = level0[(int) (currentTick & LEVEL_0_SIZE - 1)];
+            if (!slot.isEmpty()) {
+                for (Entry entry : slot) {
+                    if (entry.cancelled) continue;
+                    pending.remove(entry.key);
+                    due.accept(entry);
+                }
+                slot.clear();
+            }
+            currentTick++;
+        }
+    }
+
+    /**
+     * @param consumer the consumer of every waiting tick
+     */
+    void forEach(@NotNull Consumer<Entry> consumer) {
+        pending.values().forEach(consumer);
+    }
+
+    private void insert(Entry entry) {
+        long trigger = entry.triggerTick;
+        if (trigger >> LEVEL_0_BITS == currentTick >> LEVEL_0_BITS) {
+            level0[(int) (trigger & LEVEL_0_SIZE - 1)].add(entry);
+        } else if (trigger >> WHEEL_BITS == currentTick >> WHEEL_BITS) {
+            level1[(int) (trigger >> LEVEL_0_BITS & LEVEL_1_SIZE - 1)].add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    private void cascade(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        List<Entry> copy = new ArrayList<>(entries);
+        entries.clear();
+        for (Entry entry : copy) {
+            if (entry.cancelled) continue;
+            insert(entry);
+        }
+    }
+
+    private void clear(long tick) {
+        for (List<Entry> slot : level0) slot.clear();
+        for (List<Entry> slot : level1) slot.clear();
+        overflow.clear();
+        currentTick = tick;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] newLevel(int size) {
+        List<Entry>[] level = new List[size];
+        for (int i = 0; i < size; i++) {
+            level[i] = new ArrayList<>(0);
+        }
+        return level;
+    }
+
+    record Key(long pos, int blockId) {
+    }
+
+    static final class Entry {
+        final ChunkTickScheduler owner;
+        final Key key;
+        final int priority;
+        final long order;
+        long triggerTick;
+        boolean cancelled;
+
+        private Entry(ChunkTickScheduler owner, Key key, long triggerTick, int priority, long order) {
+            this.owner = owner;
+            this.key = key;
+            this.triggerTick = triggerTick;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        long pos() {
+            return key.pos();
+        }
+
+        int blockId() {
+            return key.blockId();
+        }
+
+        static final Comparator<Entry> VANILLA_ORDER = Comparator
+                .<Entry>comparingLong(entry -> entry.triggerTick)
+                .thenComparingInt(entry -> entry.priority)
+                .thenComparingLong(entry -> entry.order);
+    }
+}
@@ -0,0 +1,315 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.tag.TagReadable;
+import net.minestom.server.tag.TagSerializer;
+import net.minestom.server.tag.TagWritable;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.vanilla.instance.ChunkTier;
+import net.minestom.vanilla.instance.ChunkTiers;
+import net.minestom.vanilla.instance.SaveVanillaInstanceEvent;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import net.minestom.vanilla.utils.StateIdTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Schedules block logic to run after a delay, the equivalent of vanilla's block ticks (also known as tile ticks).
+ * <p>
+ * Ticks are stored per chunk, they are saved to the chunk's tags and dropped from memory when the chunk unloads, and
+ * restored when it loads again. Due ticks run in vanilla order: by trigger time, then priority, then scheduling order.
+ * </p>
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class ScheduledTickManager {
+
+    private static final @NotNull String BUDGET_SYSTEM_PROPERTY = "vri.scheduledticks.budget";
+
+    /**
+     * The maximum amount of scheduled ticks to run in a single game tick, the rest is delayed to the next game tick.
+     */
+    private static final int MAX_TICKS_PER_TICK = Integer.getInteger(BUDGET_SYSTEM_PROPERTY, 65536);
+
+    public static final Tag<List<SavedTick>> SCHEDULED_TICKS_TAG =
+            Tag.Structure("vri:scheduled_ticks", SavedTick.SERIALIZER).list();
+
+    // Scheduled tick manager by instance
+    private static final Map<Instance, ScheduledTickManager> instance2ScheduledTickManager =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Scheduled tickables, indexed by block id
+    private static final StateIdTable<ScheduledTickable> scheduledTickables = new StateIdTable<>();
+
+    public static void registerScheduledTickable(@NotNull Block block, @NotNull ScheduledTickable scheduledTickable) {
+        scheduledTickables.register((short) block.id(), scheduledTickable);
+    }
+
+    public static void init(EventNode<Event> eventNode) {
+        eventNode.addListener(InstanceChunkLoadEvent.class, event -> from(event.getInstance()).load(event.getChunk()));
+        eventNode.addListener(InstanceChunkUnloadEvent.class, event -> from(event.getInstance()).unload(event.getChunk()));
+        eventNode.addListener(SaveVanillaInstanceEvent.class, event -> from(event.getInstance()).save());
+    }
+
+    public static @NotNull ScheduledTickManager from(@NotNull Instance instance) {
+        return instance2ScheduledTickManager.computeIfAbsent(instance, ScheduledTickManager::new);
+    }
+
+    private final Instance instance;
+    private final Long2ObjectMap<ChunkTickScheduler> chunk2Scheduler = new Long2ObjectOpenHashMap<>();
+    private final List<ChunkTickScheduler.Entry> due = new ArrayList<>();
+    private final Consumer<ChunkTickScheduler.Entry> dueCollector = due::add;
+    private final List<Runnable> afterTicks = new ArrayList<>();
+    private long order = 0;
+
+    private ScheduledTickManager(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    // Public api methods
+
+    /**
+     * Schedules a tick for this block, with the normal priority.
+     *
+     * @see #schedule(Point, Block, int, TickPriority)
+     */
+    public boolean schedule(@NotNull Point pos, @NotNull Block block, int delay) {
+        return schedule(pos, block, delay, TickPriority.NORMAL);
+    }
+
+    /**
+     * Schedules a tick for this block. Once due, the tick only runs if the block at this position is still of the
+     * same type, unless the {@link ScheduledTickable} accepts other blocks.
+     *
+     * @param pos      the position of the block
+     * @param block    the block to tick
+     * @param delay    the delay in game ticks, at least 1
+     * @param priority the priority of the tick
+     * @return false if the chunk is not loaded or if a tick is already scheduled for this position and block
+     */
+    public synchronized boolean schedule(@NotNull Point pos, @NotNull Block block, int delay,
+                                         @NotNull TickPriority priority) {
+        ChunkTickScheduler scheduler = scheduler(pos, true);
+        if (scheduler == null) return false;
+        long triggerTick = instance.getWorldAge() + Math.max(delay, 1);
+        return scheduler.schedule(PackedBlockPos.pack(pos), block.id(), triggerTick, priority.value(), order++);
+    }
+
+    /**
+     * @return true if a tick is scheduled for this block at this position
+     */
+    public synchronized boolean isScheduled(@NotNull Point pos, @NotNull Block block) {
+        ChunkTickScheduler scheduler = scheduler(pos, false);
+        return scheduler != null && scheduler.isScheduled(PackedBlockPos.pack(pos), block.id());
+    }
+
+    /**
+     * Cancels the tick scheduled for this block at this position.
+     *
+     * @return false if there was no tick scheduled
+     */
+    public synchronized boolean cancel(@NotNull Point pos, @NotNull Block block) {
+        ChunkTickScheduler scheduler = scheduler(pos, false);
+        return scheduler != null && scheduler.cancel(PackedBlockPos.pack(pos), block.id());
+    }
+
+    /**
+     * Runs this callback once, after the scheduled ticks of the current game tick have run. Callbacks added while no
+     * ticks are running run at the end of the next game tick.
+     *
+     * @param callback the callback
+     */
+    public synchronized void runAfterTicks(@NotNull Runnable callback) {
+        afterTicks.add(callback);
+    }
+
+    // Public api methods end
+
+    private @Nullable ChunkTickScheduler scheduler(@NotNull Point pos, boolean create) {
+        Chunk chunk = instance.getChunkAt(pos);
+        if (chunk == null) return null;
+        long chunkIndex = ChunkUtils.getChunkIndex(chunk);
+        ChunkTickScheduler scheduler = chunk2Scheduler.get(chunkIndex);
+        if (scheduler == null && create) {
+            scheduler = new ChunkTickScheduler(chunk, instance.getWorldAge());
+            chunk2Scheduler.put(chunkIndex, scheduler);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Runs the scheduled ticks that are due, called once per tick by the block tick pass.
+     * <p>
+     * Only chunks that are at least {@link ChunkTier#TICKING} are drained. The ticks of the other chunks wait, and run
+     * in order once their chunk ticks again.
+     * </p>
+     */
+    public void tick() {
+        long tick = instance.getWorldAge();
+        ChunkTiers.Provider tiers = ChunkTiers.of(instance);
+        synchronized (this) {
+            for (ChunkTickScheduler scheduler : chunk2Scheduler.values()) {
+                Chunk chunk = scheduler.chunk();
+                if (!tiers.tier(chunk.getChunkX(), chunk.getChunkZ()).isAtLeast(ChunkTier.TICKING)) continue;
+                scheduler.drain(tick, dueCollector);
+            }
+        }
+        if (!due.isEmpty()) {
+            runDue(tick);
+        }
+        runAfterTicks();
+    }
+
+    private void runDue(long tick) {
+        due.sort(ChunkTickScheduler.Entry.VANILLA_ORDER);
+        int budget = Math.min(due.size(), MAX_TICKS_PER_TICK);
+        for (int i = 0; i < budget; i++) {
+            run(due.get(i));
+        }
+
+        // Delay whatever did not fit in the budget
+        if (due.size() > budget) {
+            synchronized (this) {
+                for (int i = budget; i < due.size(); i++) {
+                    ChunkTickScheduler.Entry entry = due.get(i);
+                    if (chunk2Scheduler.get(ChunkUtils.getChunkIndex(entry.owner.chunk())) != entry.owner) continue;
+                    entry.owner.reschedule(entry, tick + 1);
+                }
+            }
+        }
+        due.clear();
+    }
+
+    private void runAfterTicks() {
+        Runnable[] callbacks;
+        synchronized (this) {
+            if (afterTicks.isEmpty()) return;
+            callbacks = afterTicks.toArray(Runnable[]::new);
+            afterTicks.clear();
+        }
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    private void run(@NotNull ChunkTickScheduler.Entry entry) {
+        Chunk chunk = entry.owner.chunk();
+        if (!chunk.isLoaded()) return;
+
+        long pos = entry.pos();
+        int x = PackedBlockPos.x(pos);
+        int y = PackedBlockPos.y(pos);
+        int z = PackedBlockPos.z(pos);
+        Block block = chunk.getBlock(x, y, z);
+        ScheduledTickable scheduledTickable = scheduledTickables.get(entry.blockId());
+        if (scheduledTickable == null || !scheduledTickable.canTick(block, entry.blockId())) return;
+        scheduledTickable.scheduledTick(new ScheduledTick(instance, new Vec(x, y, z), block));
+    }
+
+    private synchronized void load(@NotNull Chunk chunk) {
+        List<SavedTick> savedTicks = chunk.getTag(SCHEDULED_TICKS_TAG);
+        if (savedTicks == null || savedTicks.isEmpty()) return;
+        chunk.removeTag(SCHEDULED_TICKS_TAG);
+
+        long tick = instance.getWorldAge();
+        ChunkTickScheduler scheduler = new ChunkTickScheduler(chunk, tick);
+        chunk2Scheduler.put(ChunkUtils.getChunkIndex(chunk), scheduler);
+        for (SavedTick savedTick : savedTicks) {
+            Block block = Block.fromNamespaceId(savedTick.block());
+            if (block == null) continue;
+            long pos = PackedBlockPos.pack(savedTick.x(), savedTick.y(), savedTick.z());
+            scheduler.schedule(pos, block.id(), tick + Math.max(savedTick.delay(), 1), savedTick.priority(), order++);
+        }
+    }
+
+    private synchronized void unload(@NotNull Chunk chunk) {
+        ChunkTickScheduler scheduler = chunk2Scheduler.remove(ChunkUtils.getChunkIndex(chunk));
+        if (scheduler == null) return;
+        write(scheduler);
+    }
+
+    private synchronized void save() {
+        for (ChunkTickScheduler scheduler : chunk2Scheduler.values()) {
+            write(scheduler);
+        }
+    }
+
+    private void write(@NotNull ChunkTickScheduler scheduler) {
+        Chunk chunk = scheduler.chunk();
+        if (scheduler.size() == 0) {
+            chunk.removeTag(SCHEDULED_TICKS_TAG);
+            return;
+        }
+
+        List<ChunkTickScheduler.Entry> entries = new ArrayList<>(scheduler.size());
+        scheduler.forEach(entries::add);
+        entries.sort(ChunkTickScheduler.Entry.VANILLA_ORDER);
+
+        long tick = instance.getWorldAge();
+        List<SavedTick> savedTicks = new ArrayList<>(entries.size());
+        for (ChunkTickScheduler.Entry entry : entries) {
+            Block block = Block.fromBlockId(entry.blockId());
+            if (block == null) continue;
+            long pos = entry.pos();
+            savedTicks.add(new SavedTick(block.name(), PackedBlockPos.x(pos), PackedBlockPos.y(pos),
+                    PackedBlockPos.z(pos), (int) (entry.triggerTick - tick), entry.priority));
+        }
+        chunk.setTag(SCHEDULED_TICKS_TAG, savedTicks);
+    }
+
+    private record ScheduledTick(Instance instance, Point position, Block block)
+            implements ScheduledTickable.ScheduledTick {
+    }
+
+    /**
+     * A scheduled tick as saved with its chunk, using the same fields as vanilla.
+     */
+    public record SavedTick(@NotNull String block, int x, int y, int z, int delay, int priority) {
+
+        private static final Tag<String> BLOCK_TAG = Tag.String("i");
+        private static final Tag<Integer> X_TAG = Tag.Integer("x");
+        private static final Tag<Integer> Y_TAG = Tag.Integer("y");
+        private static final Tag<Integer> Z_TAG = Tag.Integer("z");
+        private static final Tag<Integer> DELAY_TAG = Tag.Integer("t");
+        private static final Tag<Integer> PRIORITY_TAG = Tag.Integer("p");
+
+        static final TagSerializer<SavedTick> SERIALIZER = new TagSerializer<>() {
+            @Override
+            public @Nullable SavedTick read(@NotNull TagReadable reader) {
+                String block = reader.getTag(BLOCK_TAG);
+                Integer x = reader.getTag(X_TAG);
+                Integer y = reader.getTag(Y_TAG);
+                Integer z = reader.getTag(Z_TAG);
+                Integer delay = reader.getTag(DELAY_TAG);
+                Integer priority = reader.getTag(PRIORITY_TAG);
+                if (block == null || x == null || y == null || z == null || delay == null || priority == null) {
+                    return null;
+                }
+                return new SavedTick(block, x, y, z, delay, priority);
+            }
+
+            @Override
+            public void write(@NotNull TagWritable writer, @NotNull SavedTick value) {
+                writer.setTag(BLOCK_TAG, value.block());
+                writer.setTag(X_TAG, value.x());
+                writer.setTag(Y_TAG, value.y());
+                writer.setTag(Z_TAG, value.z());
+                writer.setTag(DELAY_TAG, value.delay());
+                writer.setTag(PRIORITY_TAG, value.priority());
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+public interface ScheduledTickable {
+
+    /**
+     * Called when a tick scheduled for this block is due, if {@link #canTick} accepts the block now at the position.
+     *
+     * @param scheduledTick the scheduled tick
+     */
+    void scheduledTick(@NotNull ScheduledTick scheduledTick);
+
+    /**
+     * Checks whether a due tick should still run for the block now at its position. By default, the block must still
+     * be of the type the tick was scheduled for.
+     *
+     * @param block            the block now at the position
+     * @param scheduledBlockId the id of the block the tick was scheduled for
+     * @return true to run the tick
+     */
+    default boolean canTick(@NotNull Block block, int scheduledBlockId) {
+        return block.id() == scheduledBlockId;
+    }
+
+    interface ScheduledTick {
+        @NotNull Instance instance();
+        @NotNull Point position();
+        @NotNull Block block();
+    }
+}
@@ -0,0 +1,34 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+/**
+ * The priority of a scheduled tick, ticks due on the same game tick run from the highest to the lowest priority.
+ */
+public enum TickPriority {
+    EXTREMELY_HIGH(-3),
+    VERY_HIGH(-2),
+    HIGH(-1),
+    NORMAL(0),
+    LOW(1),
+    VERY_LOW(2),
+    EXTREMELY_LOW(3);
+
+    private final int value;
+
+    TickPriority(int value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the vanilla value of this priority, lower values run first
+     */
+    public int value() {
+        return value;
+    }
+
+    public static TickPriority fromValue(int value) {
+        for (TickPriority priority : values()) {
+            if (priority.value == value) return priority;
+        }
+        return value < 0 ? EXTREMELY_HIGH : EXTREMELY_LOW;
+    }
+}
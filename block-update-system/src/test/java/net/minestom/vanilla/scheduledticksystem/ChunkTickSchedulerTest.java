@@ -0,0 +1,127 @@
+package net.minestom.vanilla.scheduledticksystem;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkTickSchedulerTest {
+
+    private static final int BLOCK = 1;
+
+    // The chunk is only carried along for the manager, the wheel never reads it
+    private static ChunkTickScheduler scheduler(long currentTick) {
+        return new ChunkTickScheduler(null, currentTick);
+    }
+
+    @Test
+    public void ticksDrainOnTheirTriggerTickAtEveryLevel() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        // In the first level, the second level, and past both levels
+        long[] triggers = {0, 3, 255, 256, 300, 16_383, 16_384, 20_000, 40_000};
+        for (int i = 0; i < triggers.length; i++) {
+            assertTrue(scheduler.schedule(i, BLOCK, triggers[i], 0, i));
+        }
+
+        Long2LongMap drainedAt = new Long2LongOpenHashMap();
+        for (long tick = 0; tick <= 40_000; tick++) {
+            long current = tick;
+            scheduler.drain(tick, entry -> {
+                assertFalse(drainedAt.containsKey(entry.pos()), "tick drained twice");
+                drainedAt.put(entry.pos(), current);
+            });
+        }
+
+        for (int i = 0; i < triggers.length; i++) {
+            assertEquals(triggers[i], drainedAt.get(i), "tick scheduled for " + triggers[i]);
+        }
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void drainCatchesUpOnSkippedTicks() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        scheduler.schedule(1, BLOCK, 10, 0, 0);
+        scheduler.schedule(2, BLOCK, 1_000, 0, 1);
+
+        assertEquals(LongList.of(1, 2), drain(scheduler, 5_000));
+    }
+
+    @Test
+    public void tickScheduledInThePastRunsOnNextDrain() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        drain(scheduler, 100);
+        scheduler.schedule(1, BLOCK, 50, 0, 0);
+
+        assertEquals(LongList.of(1), drain(scheduler, 101));
+    }
+
+    @Test
+    public void idleWheelJumpsToTheCurrentTick() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        drain(scheduler, 100_000);
+        scheduler.schedule(1, BLOCK, 100_002, 0, 0);
+
+        assertTrue(drain(scheduler, 100_001).isEmpty());
+        assertEquals(LongList.of(1), drain(scheduler, 100_002));
+    }
+
+    @Test
+    public void duplicateTickIsIgnored() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        assertTrue(scheduler.schedule(1, BLOCK, 10, 0, 0));
+        assertFalse(scheduler.schedule(1, BLOCK, 5, 0, 1));
+        // Another block at the same position is a different tick
+        assertTrue(scheduler.schedule(1, BLOCK + 1, 5, 0, 2));
+        assertEquals(2, scheduler.size());
+
+        assertEquals(LongList.of(1), drain(scheduler, 5));
+        assertTrue(scheduler.isScheduled(1, BLOCK));
+        assertEquals(LongList.of(1), drain(scheduler, 10));
+        assertFalse(scheduler.isScheduled(1, BLOCK));
+    }
+
+    @Test
+    public void cancelledTickDoesNotRun() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        scheduler.schedule(1, BLOCK, 300, 0, 0);
+        assertTrue(scheduler.cancel(1, BLOCK));
+        assertFalse(scheduler.cancel(1, BLOCK));
+
+        assertTrue(drain(scheduler, 1_000).isEmpty());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void cancelledTickCanBeScheduledAgain() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        scheduler.schedule(1, BLOCK, 10, 0, 0);
+        scheduler.cancel(1, BLOCK);
+        assertTrue(scheduler.schedule(1, BLOCK, 20, 0, 1));
+
+        assertTrue(drain(scheduler, 19).isEmpty());
+        assertEquals(LongList.of(1), drain(scheduler, 20));
+    }
+
+    @Test
+    public void rescheduledTickRunsLater() {
+        ChunkTickScheduler scheduler = scheduler(0);
+        scheduler.schedule(1, BLOCK, 10, 0, 0);
+        scheduler.drain(10, entry -> scheduler.reschedule(entry, 11));
+
+        assertTrue(scheduler.isScheduled(1, BLOCK));
+        assertEquals(LongList.of(1), drain(scheduler, 11));
+    }
+
+    /**
+     * @return the positions of the ticks drained up to this tick, in drain order
+     */
+    private static LongList drain(ChunkTickScheduler scheduler, long tick) {
+        LongList positions = new LongArrayList();
+        scheduler.drain(tick, entry -> positions.add(entry.pos()));
+        return positions;
+    }
+}
@@ -2,4 +2,5 @@ dependencies {
     implementation(project(":core"))
     implementation(project(":block-update-system"))
     implementation(project(":entity-meta"))
+    implementation(project(":instance-meta"))
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import net.minestom.server.item.ItemStack;
 import net.minestom.server.utils.Direction;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.time.TimeUnit;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.instance.VanillaExplosion;
 import org.jetbrains.annotations.NotNull;
 
@@ -64,8 +65,8 @@ public class BedBlockBehaviour extends VanillaBlockBehaviour {
 
         Block footBlock = correctFacing.withProperty("part", "foot");
         Block headBlock = correctFacing.withProperty("part", "head");
-        instance.setBlock(footPosition, footBlock);
-        instance.setBlock(headPosition, headBlock);
+        BlockChanges.setBlock(instance, footPosition, footBlock);
+        BlockChanges.setBlock(instance, headPosition, headBlock);
     }
 
     @Override
@@ -107,7 +108,7 @@ public class BedBlockBehaviour extends VanillaBlockBehaviour {
         VanillaExplosion.builder(pos.add(0.5), 5)
                 .isFlaming(true)
                 .build()
-                .apply(instance);
+                .trigger(instance);
         return true;
     }
 
@@ -127,7 +128,7 @@ public class BedBlockBehaviour extends VanillaBlockBehaviour {
         }
 
         Point otherPartPosition = pos.add(facing.normalX(), facing.normalY(), facing.normalZ()); // TODO: Investigate why direction is wrong
-        instance.setBlock(pos, Block.AIR);
-        instance.setBlock(otherPartPosition, Block.AIR);
+        BlockChanges.setBlock(instance, pos, Block.AIR);
+        BlockChanges.setBlock(instance, otherPartPosition, Block.AIR);
     }
 }
@@ -7,6 +7,7 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
@@ -54,7 +55,7 @@ public class CakeBlockBehaviour extends VanillaBlockBehaviour {
         // Player is trying to light candle cake
         if (item.isSimilar(flint_and_steel) && candleCakes.containsKey(block) &&
                 !Boolean.parseBoolean(block.getProperty("lit"))) {
-            instance.setBlock(point, block.withProperty("lit", "true"));
+            BlockChanges.setBlock(instance, point, block.withProperty("lit", "true"));
 
             // TODO: Handle tool durability
             return true;
@@ -84,7 +85,7 @@ public class CakeBlockBehaviour extends VanillaBlockBehaviour {
 
     private void tryDropCandle(Block block, Instance instance, Point point) {
         if (block != Block.CAKE) {
-            instance.setBlock(point, Block.CAKE.withProperty("bites", "1"));
+            BlockChanges.setBlock(instance, point, Block.CAKE.withProperty("bites", "1"));
             ItemStack candle = ItemStack.of(candleCakes.get(block));
             new ItemEntity(candle).setInstance(instance);
         }
@@ -3,6 +3,7 @@ package net.minestom.vanilla.blocks;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 // TODO: When placing concrete powder in water, it turns to the solid block correctly, however it falls like a regular concrete powder block
@@ -40,7 +41,7 @@ public class ConcretePowderBlockBehaviour extends GravityBlockBehaviour {
                         instance.getBlock(x, y, z - 1).compare(Block.WATER) || // north
                         instance.getBlock(x, y, z + 1).compare(Block.WATER)    // south
         ) {
-            instance.setBlock(blockPosition, solidifiedBlock);
+            BlockChanges.setBlock(instance, blockPosition, solidifiedBlock);
         }
     }
 }
@@ -8,6 +8,7 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.world.DimensionType;
 import net.minestom.vanilla.dimensions.VanillaDimensionTypes;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
@@ -64,7 +65,8 @@ public class EndPortalBlockBehaviour extends VanillaBlockBehaviour {
                 for (int x = 0; x < 5; x++) {
                     for (int z = 0; z < 5; z++) {
                         for (int y = 0; y < 3; y++) {
-                            targetInstance.setBlock(obsidianPlatformX + x, obsidianPlatformY + y + 1, obsidianPlatformZ + z, Block.AIR);
+                            BlockChanges.setBlock(targetInstance, obsidianPlatformX + x, obsidianPlatformY + y + 1,
+                                    obsidianPlatformZ + z, Block.AIR);
                         }
                     }
                 }
@@ -12,7 +12,10 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.tag.Tag;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.inventory.InventoryManipulation;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -23,10 +26,13 @@ import java.util.Random;
  * <p>
  * Requires onPlace enhancements
  */
-public class JukeboxBlockBehaviour extends VanillaBlockBehaviour {
+public class JukeboxBlockBehaviour extends VanillaBlockBehaviour implements ScheduledTickable {
 
     public static final Tag<ItemStack> DISC_KEY = Tag.ItemStack("minestom:jokebox_disc");
 
+    // Every 3 seconds
+    private static final int PLAYBACK_TICK_DELAY = MinecraftServer.TICK_PER_SECOND * 3;
+
     public JukeboxBlockBehaviour(@NotNull VanillaBlocks.BlockContext context) {
         super(context);
     }
@@ -69,7 +75,7 @@ public class JukeboxBlockBehaviour extends VanillaBlockBehaviour {
         if (stack != null) {
             stopPlayback(instance, pos, block);
             block = block.withTag(DISC_KEY, ItemStack.AIR);
-            instance.setBlock(pos, block.withProperty("has_record", "false"));
+            BlockChanges.setBlock(instance, pos, block.withProperty("has_record", "false"));
             // TODO: Drop disc
             return true;
         }
@@ -79,7 +85,9 @@ public class JukeboxBlockBehaviour extends VanillaBlockBehaviour {
             return true;
         }
 
-        instance.setBlock(pos, withDisc(block, heldItem).withProperty("has_record", "true"));
+        Block withDisc = withDisc(block, heldItem).withProperty("has_record", "true");
+        BlockChanges.setBlock(instance, pos, withDisc);
+        ScheduledTickManager.from(instance).schedule(pos, withDisc, PLAYBACK_TICK_DELAY);
 
         InventoryManipulation.consumeItemIfNotCreative(player, heldItem, hand);
 
@@ -102,21 +110,16 @@ public class JukeboxBlockBehaviour extends VanillaBlockBehaviour {
     }
 
     @Override
-    public boolean isTickable() {
-        return true;
-    }
-
-    public void tick(@NotNull VanillaTick tick) {
-        Instance instance = tick.instance();
-
-        long age = instance.getWorldAge();
-
-        // Continue only every 3 seconds
-        if (age % (MinecraftServer.TICK_PER_SECOND * 3L) != 0) {
+    public void scheduledTick(@NotNull ScheduledTick scheduledTick) {
+        Block block = scheduledTick.block();
+        ItemStack disc = getDisc(block);
+        if (disc == null || disc.isAir()) {
             return;
         }
 
         // TODO: Play sound to all players without the sound playing
+
+        ScheduledTickManager.from(scheduledTick.instance()).schedule(scheduledTick.position(), block, PLAYBACK_TICK_DELAY);
     }
 
 //    @Override
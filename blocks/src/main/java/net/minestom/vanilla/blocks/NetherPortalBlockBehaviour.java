@@ -9,19 +9,27 @@ import net.minestom.server.event.Event;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.tag.Tag;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.DimensionType;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdatable;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateInfo;
 import net.minestom.vanilla.dimensions.VanillaDimensionTypes;
+import net.minestom.vanilla.instance.BlockChanges;
+import net.minestom.vanilla.instancemeta.tickets.TicketManager;
+import net.minestom.vanilla.instancemeta.tickets.TicketType;
+import net.minestom.vanilla.instancemeta.tickets.TicketUtils;
 import net.minestom.vanilla.system.nether.EntityEnterNetherPortalEvent;
 import net.minestom.vanilla.system.nether.NetherPortalTeleportEvent;
 import net.minestom.vanilla.system.nether.NetherPortalUpdateEvent;
 import net.minestom.vanilla.system.NetherPortal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.tinylog.Logger;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements BlockUpdatable {
 
@@ -73,7 +81,7 @@ public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements
                     .withTag(LAST_PORTAL_UPDATE_KEY, 0L)
                     .withTag(TICKS_SPENT_IN_PORTAL_KEY, 0L);
 
-            instance.setBlock(pos, newBlock);
+            BlockChanges.setBlock(instance, pos, newBlock);
             return;
         }
 
@@ -123,7 +131,7 @@ public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements
 
         newBlock = newBlock.withTag(TICKS_SPENT_IN_PORTAL_KEY, ticksSpentInPortal);
 
-        instance.setBlock(position, newBlock);
+        BlockChanges.setBlock(instance, position, newBlock);
 
         Event event = new NetherPortalUpdateEvent(touching, position, portal, instance, ticksSpentInPortal);
 
@@ -189,7 +197,7 @@ public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements
                     .withTag(LAST_PORTAL_UPDATE_KEY, 0L)
                     .withTag(LAST_PORTAL_KEY, portal.id())
                     .withTag(TICKS_SPENT_IN_PORTAL_KEY, 0L);
-            instance.setBlock(position, newBlock);
+            BlockChanges.setBlock(instance, position, newBlock);
             teleport(instance, touching, event);
         }
     }
@@ -245,35 +253,50 @@ public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements
 
     private void teleport(Instance instance, Entity touching, NetherPortalTeleportEvent event) {
         Instance targetInstance = event.getTargetInstance();
-        if (event.createsNewPortal()) {
-            event.getTargetPortal().generate(targetInstance);
-        }
-
-        if (targetInstance != instance) {
-            touching.setInstance(targetInstance);
-        }
-
         Pos targetTeleportationPosition = new Pos(event.getTargetPosition());
 
-        touching.teleport(targetTeleportationPosition).thenRun(() -> {
-            Vec velocity = touching.getVelocity();
-
-            if (
-                    event.getPortal() != null &&
-                            event.getPortal().getAxis()
-                                    != event.getTargetPortal().getAxis()
-            ) {
-                double swapTmp = velocity.x();
-
-                touching.setVelocity(new Vec(
-                        swapTmp,
-                        velocity.z(),
-                        swapTmp
-                ));
+        // Keep the destination loaded while the entity goes through, the ticket expires on its own
+        long targetChunk = ChunkUtils.getChunkIndex(
+                targetTeleportationPosition.blockX() >> 4, targetTeleportationPosition.blockZ() >> 4);
+        TicketManager.Ticket ticket = TicketType.PORTAL.at(targetChunk);
+        TicketUtils.waitingTickets(targetInstance, List.of(ticket));
+
+        CompletableFuture<Void> ready = event.createsNewPortal()
+                ? event.getTargetPortal().generate(targetInstance)
+                : CompletableFuture.completedFuture(null);
+        ready.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                Logger.error(throwable, "Failed to generate the nether portal at {} for {}",
+                        targetTeleportationPosition, touching);
+                // Nothing goes through, the destination does not need to stay loaded
+                TicketUtils.removingTickets(targetInstance, List.of(ticket));
+                return;
             }
+            if (targetInstance != instance) {
+                touching.setInstance(targetInstance);
+            }
+            touching.teleport(targetTeleportationPosition).thenRun(() -> applyPortalVelocity(touching, event));
         });
     }
 
+    private void applyPortalVelocity(Entity touching, NetherPortalTeleportEvent event) {
+        Vec velocity = touching.getVelocity();
+
+        if (
+                event.getPortal() != null &&
+                        event.getPortal().getAxis()
+                                != event.getTargetPortal().getAxis()
+        ) {
+            double swapTmp = velocity.x();
+
+            touching.setVelocity(new Vec(
+                    swapTmp,
+                    velocity.z(),
+                    swapTmp
+            ));
+        }
+    }
+
     @Override
     public void onDestroy(@NotNull VanillaDestroy destroy) {
         Block block = destroy.block();
@@ -310,7 +333,7 @@ public class NetherPortalBlockBehaviour extends VanillaBlockBehaviour implements
     }
 
     public void setRelatedPortal(Instance instance, Point blockPosition, Block block, NetherPortal portal) {
-        instance.setBlock(blockPosition, block.withTag(RELATED_PORTAL_KEY, portal.id()));
+        BlockChanges.setBlock(instance, blockPosition, block.withTag(RELATED_PORTAL_KEY, portal.id()));
     }
 
     @Override
@@ -12,6 +12,7 @@ import net.minestom.server.inventory.PlayerInventory;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.entitymeta.EntityTags;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Random;
@@ -40,7 +41,7 @@ public class TNTBlockBehaviour extends VanillaBlockBehaviour {
             return true;
         }
 
-        player.getInstance().setBlock(blockPosition, Block.AIR);
+        BlockChanges.setBlock(player.getInstance(), blockPosition, Block.AIR);
         spawnPrimedTNT(player.getInstance(), blockPosition, 80);
 
         return true;
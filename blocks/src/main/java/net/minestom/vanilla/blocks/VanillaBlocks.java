@@ -20,6 +20,7 @@ import net.minestom.vanilla.blocks.oxidisable.WaxedBlockBehaviour;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdatable;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -219,6 +220,9 @@ public enum VanillaBlocks {
             if (behaviour instanceof RandomTickable randomTickable)
                 BlockUpdateManager.registerRandomTickable(vb.stateId, randomTickable);
 
+            if (behaviour instanceof ScheduledTickable scheduledTickable)
+                BlockUpdateManager.registerScheduledTickable(Block.fromStateId(vb.stateId), scheduledTickable);
+
             // TODO: Find replacements for this hacky block handler
             events.addListener(EventListener.builder(PlayerBlockPlaceEvent.class)
                     .filter(event -> event.getBlock().stateId() == vb.stateId)
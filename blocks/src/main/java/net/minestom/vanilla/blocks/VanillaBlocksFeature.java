@@ -1,12 +1,19 @@
 package net.minestom.vanilla.blocks;
 
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.GameMode;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.gamerule.GameRule;
+import net.minestom.vanilla.gamerule.GameRules;
+import net.minestom.vanilla.loot.BlockLootTables;
+import net.minestom.vanilla.loot.LootContext;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.atomic.AtomicReference;
@@ -16,6 +23,15 @@ public class VanillaBlocksFeature implements VanillaReimplementation.Feature {
     public void hook(@NotNull VanillaReimplementation vri, @NotNull VanillaRegistry registry) {
         VanillaBlocks.registerAll(vri, registry);
 
+        vri.process().eventHandler().addListener(PlayerBlockBreakEvent.class, event -> {
+            Player player = event.getPlayer();
+            if (player.getGameMode() == GameMode.CREATIVE) return;
+            Instance instance = player.getInstance();
+            if (!GameRules.of(instance).getBoolean(GameRule.DO_TILE_DROPS)) return;
+            LootContext context = LootContext.tool(vri.random(instance), player.getItemInMainHand());
+            BlockLootTables.spawnDrops(instance, event.getBlockPosition(), event.getBlock(), context);
+        });
+
         vri.process().eventHandler().addListener(PlayerBlockPlaceEvent.class, event -> {
             Block block = event.getBlock();
             Instance instance = event.getInstance();
@@ -7,6 +7,7 @@ import net.minestom.server.inventory.Inventory;
 import net.minestom.server.inventory.InventoryType;
 import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.blocks.ChestLikeBlockBehaviour;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -65,7 +66,8 @@ public class ChestInventory extends Inventory {
     @Override
     public void setItemStack(int slot, @NotNull ItemStack itemStack) {
         items[slot] = itemStack;
-        instance.setBlock(pos, instance.getBlock(pos).withTag(ChestLikeBlockBehaviour.TAG_ITEMS, List.of(items)));
+        BlockChanges.setBlock(instance, pos,
+                instance.getBlock(pos).withTag(ChestLikeBlockBehaviour.TAG_ITEMS, List.of(items)));
     }
 
     @Override
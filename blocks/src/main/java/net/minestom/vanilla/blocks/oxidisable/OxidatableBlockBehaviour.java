@@ -5,6 +5,7 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.blocks.VanillaBlocks;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.inventory.InventoryManipulation;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
 import net.minestom.vanilla.utils.MathUtils;
@@ -61,7 +62,7 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         // Exit now if the block cannot be oxidised anymore
         if (oxidised == context.stateId()) return;
 
-        Random random = context.vri().random(randomTick.instance());
+        Random random = randomTick.random();
         // In Java Edition, when a random tick is given, a copper block has a 64/1125 chance to enter a state called pre-oxidation.
         // This means a copper block enters pre-oxidation after approximately 20 minutes.
         if (random.nextInt(1125) >= 64) {
@@ -112,7 +113,7 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
         if (random.nextDouble() < probability) {
             Block block = Block.fromStateId(oxidised);
             Objects.requireNonNull(block, "Block with state id " + oxidised + " was not found");
-            randomTick.instance().setBlock(randomTick.position(), block);
+            randomTick.setBlock(randomTick.position(), block);
         }
     }
 
@@ -134,7 +135,7 @@ public class OxidatableBlockBehaviour extends WaxableBlockBehaviour implements R
                 && material.namespace().value().toLowerCase().contains("_axe")) { // TODO: Better way to check if it's an axe
             Block previousBlock = Block.fromStateId(previous);
             Objects.requireNonNull(previousBlock, "Block with state id " + previous + " was not found");
-            interaction.instance().setBlock(interaction.blockPosition(), previousBlock);
+            BlockChanges.setBlock(interaction.instance(), interaction.blockPosition(), previousBlock);
             InventoryManipulation.damageItemIfNotCreative(player, hand, 1);
             return false;
         }
@@ -6,6 +6,7 @@ import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.blocks.VanillaBlockBehaviour;
 import net.minestom.vanilla.blocks.VanillaBlocks;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.inventory.InventoryManipulation;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,7 +30,7 @@ public abstract class WaxableBlockBehaviour extends VanillaBlockBehaviour {
         if (Material.HONEYCOMB.equals(material)) {
             Block block = Block.fromStateId(waxedBlock);
             Objects.requireNonNull(block, "Waxed block with state id " + waxedBlock + " does not exist");
-            interaction.instance().setBlock(interaction.blockPosition(), block);
+            BlockChanges.setBlock(interaction.instance(), interaction.blockPosition(), block);
             InventoryManipulation.consumeItemIfNotCreative(player, hand, 1);
             return false;
         }
@@ -5,6 +5,7 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.blocks.VanillaBlocks;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.inventory.InventoryManipulation;
 import org.jetbrains.annotations.NotNull;
 
@@ -30,7 +31,7 @@ public class WaxedBlockBehaviour extends OxidatedBlockBehaviour {
         if (material.namespace().value().toLowerCase().contains("_axe")) { // TODO: Better way to check if it's an axe
             Block previousBlock = Block.fromStateId(unWaxed);
             Objects.requireNonNull(previousBlock, "Previous block with state id " + unWaxed + " was not found");
-            interaction.instance().setBlock(interaction.blockPosition(), previousBlock);
+            BlockChanges.setBlock(interaction.instance(), interaction.blockPosition(), previousBlock);
             InventoryManipulation.damageItemIfNotCreative(player, hand, 1);
             return false;
         }
@@ -4,6 +4,7 @@ plugins {
     `maven-publish`
     id("com.github.harbby.gradle.serviceloader") version ("1.1.8")
     id("com.github.johnrengelman.shadow") version ("7.0.0")
+    id("me.champeau.jmh") version ("0.6.8") apply false
 }
 
 subprojects {
@@ -13,6 +14,7 @@ subprojects {
     plugins.apply("maven-publish")
     plugins.apply("com.github.harbby.gradle.serviceloader")
     plugins.apply("com.github.johnrengelman.shadow")
+    plugins.apply("me.champeau.jmh")
 
     group = "net.minestom.vanilla"
     version = "indev"
@@ -61,6 +63,9 @@ subprojects {
 
         // jansi for colored console
         implementation("org.fusesource.jansi:jansi:2.4.0")
+
+        // Tests
+        testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
     }
 
     publishing {
@@ -79,4 +84,9 @@ subprojects {
         dependsOn("serviceLoaderBuild")
         useJUnitPlatform()
     }
+
+    // Benchmarks hook the features found on their classpath
+    tasks.matching { it.name == "jmh" }.configureEach {
+        dependsOn("serviceLoaderBuild")
+    }
 }
\ No newline at end of file
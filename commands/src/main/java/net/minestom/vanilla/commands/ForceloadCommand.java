@@ -10,8 +10,10 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.location.RelativeVec;
 import net.minestom.vanilla.instancemeta.tickets.TicketManager;
+import net.minestom.vanilla.instancemeta.tickets.TicketType;
 import net.minestom.vanilla.instancemeta.tickets.TicketUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -60,22 +62,33 @@ public class ForceloadCommand extends Command {
     }
 
     private void addForceLoad(Instance instance, int chunkX, int chunkZ) {
-        addForceLoad(instance, ChunkUtils.getChunkIndex(chunkX, chunkZ));
-    }
-
-    private void addForceLoad(Instance instance, long chunkIndex) {
-        TicketManager.Ticket ticketToAdd = TicketManager.Ticket.from(TicketManager.FORCED_TICKET, chunkIndex);
-        TicketUtils.waitingTickets(instance, List.of(ticketToAdd));
+        TicketUtils.waitingTickets(instance, List.of(forceLoadTicket(chunkX, chunkZ)));
     }
 
     private void removeForceLoad(Instance instance, int chunkX, int chunkZ) {
-        removeForceLoad(instance, ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        TicketUtils.removingTickets(instance, List.of(forceLoadTicket(chunkX, chunkZ)));
     }
 
-    private void removeForceLoad(Instance instance, long chunkIndex) {
+    private static TicketManager.Ticket forceLoadTicket(int chunkX, int chunkZ) {
+        return TicketType.FORCED.at(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+    }
 
-        TicketManager.Ticket ticketToRemove = TicketManager.Ticket.from(TicketManager.FORCED_TICKET, chunkIndex);
-        TicketUtils.removingTickets(instance, List.of(ticketToRemove));
+    /**
+     * @return the force load tickets of every chunk in the area between these two positions
+     */
+    private static List<TicketManager.Ticket> forceLoadTickets(Vec from, Vec to) {
+        int minChunkX = ChunkUtils.getChunkCoordinate(Math.min(from.blockX(), to.blockX()));
+        int maxChunkX = ChunkUtils.getChunkCoordinate(Math.max(from.blockX(), to.blockX()));
+        int minChunkZ = ChunkUtils.getChunkCoordinate(Math.min(from.blockZ(), to.blockZ()));
+        int maxChunkZ = ChunkUtils.getChunkCoordinate(Math.max(from.blockZ(), to.blockZ()));
+
+        List<TicketManager.Ticket> tickets = new ArrayList<>((maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1));
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                tickets.add(forceLoadTicket(chunkX, chunkZ));
+            }
+        }
+        return tickets;
     }
 
     private void usageAddFrom(CommandSender sender, CommandContext context) {
@@ -99,21 +112,9 @@ public class ForceloadCommand extends Command {
         Vec from = fromVec.from(player.getPosition());
         Vec to = toVec.from(player.getPosition());
 
-        int startX = Math.min(from.blockX(), to.blockX());
-        int endX = Math.max(from.blockX(), to.blockX());
-        int startZ = Math.min(from.blockZ(), to.blockZ());
-        int endZ = Math.max(from.blockZ(), to.blockZ());
-
+        // Add the force loads
         Instance instance = player.getInstance();
-
-        for (int offX = startX; offX < endX; offX += 16) {
-            for (int offZ = startZ; offZ < endZ; offZ += 16) {
-                // Get chunk position
-                int chunkX = ChunkUtils.getChunkCoordinate(offX);
-                int chunkZ = ChunkUtils.getChunkCoordinate(offZ);
-                removeForceLoad(instance, chunkX, chunkZ);
-            }
-        }
+        TicketUtils.waitingTickets(instance, forceLoadTickets(from, to));
     }
 
     private void usageRemoveFrom(CommandSender sender, CommandContext context) {
@@ -138,22 +139,8 @@ public class ForceloadCommand extends Command {
         Vec from = fromVec.from(player.getPosition());
         Vec to = toVec.from(player.getPosition());
 
-        int minX = Math.min(from.blockX(), to.blockX());
-        int maxX = Math.max(from.blockX(), to.blockX());
-        int minZ = Math.min(from.blockZ(), to.blockZ());
-        int maxZ = Math.max(from.blockZ(), to.blockZ());
-
+        // Remove the force loads
         Instance instance = player.getInstance();
-
-        for (int offX = minX; offX <= maxX; offX += 16) {
-            for (int offZ = minZ; offZ <= maxZ; offZ += 16) {
-                // Get chunk position
-                int chunkX = ChunkUtils.getChunkCoordinate(offX);
-                int chunkZ = ChunkUtils.getChunkCoordinate(offZ);
-
-                // Remove the force load
-                removeForceLoad(instance, chunkX, chunkZ);
-            }
-        }
+        TicketUtils.removingTickets(instance, forceLoadTickets(from, to));
     }
 }
@@ -0,0 +1,96 @@
+package net.minestom.vanilla.commands;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.CommandContext;
+import net.minestom.server.command.builder.arguments.Argument;
+import net.minestom.server.command.builder.arguments.ArgumentType;
+import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.vanilla.gamerule.GameRule;
+import net.minestom.vanilla.gamerule.GameRules;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * "gamerule":
+ * Description: "Sets or queries a game rule value."
+ * BE: true
+ * EE: true
+ * JE: true
+ * OP_Level: 2
+ * BE_EE_OP_Level: 1
+ * MP_Only: false
+ */
+public class GameruleCommand extends Command {
+
+    public GameruleCommand() {
+        super("gamerule");
+
+        setCondition(this::isAllowed);
+
+        setDefaultExecutor(this::usage);
+
+        String[] names = GameRule.values().stream().map(GameRule::name).toArray(String[]::new);
+        Argument<String> rule = ArgumentType.Word("rule").from(names);
+        Argument<String> value = ArgumentType.Word("value");
+
+        rule.setCallback(this::ruleCallback);
+
+        // gamerule <rule>
+        //    Queries the value of the game rule.
+        addSyntax(this::query, rule);
+
+        // gamerule <rule> <value>
+        //    Sets the value of the game rule.
+        addSyntax(this::set, rule, value);
+    }
+
+    private void usage(CommandSender sender, CommandContext context) {
+        sender.sendMessage("Usage: /gamerule <rule> [<value>]");
+    }
+
+    private void query(CommandSender sender, CommandContext context) {
+        Instance instance = instance(sender);
+        if (instance == null) return;
+        GameRule<?> rule = Objects.requireNonNull(GameRule.fromName(context.get("rule")));
+        sender.sendMessage("Gamerule " + rule.name() + " is currently set to: " + GameRules.of(instance).get(rule));
+    }
+
+    private void set(CommandSender sender, CommandContext context) {
+        Instance instance = instance(sender);
+        if (instance == null) return;
+        GameRule<?> rule = Objects.requireNonNull(GameRule.fromName(context.get("rule")));
+        String value = context.get("value");
+
+        if (!GameRules.of(instance).parseAndSet(rule, value)) {
+            sender.sendMessage("'" + value + "' is not a valid value for gamerule " + rule.name() + "!");
+            return;
+        }
+        sender.sendMessage("Gamerule " + rule.name() + " is now set to: " + value);
+    }
+
+    /**
+     * @return the instance of the player running the command, or null if the sender is not a player in an instance
+     */
+    private @Nullable Instance instance(CommandSender sender) {
+        Instance instance = sender instanceof Player player ? player.getInstance() : null;
+        if (instance == null) {
+            sender.sendMessage(Component.text("Please run this command in-game.", NamedTextColor.RED));
+        }
+        return instance;
+    }
+
+    private void ruleCallback(@NotNull CommandSender sender, @NotNull ArgumentSyntaxException exception) {
+        sender.sendMessage("'" + exception.getInput() + "' is not a valid gamerule!");
+    }
+
+    private boolean isAllowed(CommandSender sender, String commandName) {
+        return true; // TODO: permissions
+    }
+}
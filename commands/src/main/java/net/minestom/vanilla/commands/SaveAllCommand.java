@@ -4,6 +4,7 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.command.CommandSender;
 import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.CommandContext;
+import net.minestom.vanilla.instance.SaveVanillaInstanceEvent;
 
 /**
  * Save the server
@@ -21,6 +22,8 @@ public class SaveAllCommand extends Command {
 
     private void execute(CommandSender player, CommandContext arguments) {
         MinecraftServer.getInstanceManager().getInstances().forEach(i -> {
+            MinecraftServer.getGlobalEventHandler().call(new SaveVanillaInstanceEvent(i));
+            i.saveInstance();
             i.saveChunksToStorage();
             System.out.println("Saved dimension " + i.getDimensionType().getName());
         });
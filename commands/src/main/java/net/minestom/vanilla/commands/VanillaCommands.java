@@ -14,6 +14,7 @@ public enum VanillaCommands {
     FORCELOAD(ForceloadCommand::new),
     GAMEMODE(GamemodeCommand::new),
     DIFFICULTY(DifficultyCommand::new),
+    GAMERULE(GameruleCommand::new),
     ME(MeCommand::new),
     STOP(StopCommand::new),
     HELP(HelpCommand::new),
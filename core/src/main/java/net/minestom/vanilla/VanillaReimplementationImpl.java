@@ -16,11 +16,13 @@ import net.minestom.server.world.DimensionType;
 import net.minestom.vanilla.crafting.VanillaRecipe;
 import net.minestom.vanilla.dimensions.VanillaDimensionTypes;
 import net.minestom.vanilla.instance.SetupVanillaInstanceEvent;
+import net.minestom.vanilla.loot.BlockLootTables;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 import org.tinylog.Logger;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
@@ -148,9 +150,11 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
         // Anvil directory
         AnvilLoader loader = new AnvilLoader(name.value());
         instance.setChunkLoader(loader);
+        // Load the instance data (level.dat), e.g. game rules
+        loader.loadInstance(instance);
 
         // Setup event
-        SetupVanillaInstanceEvent event = new SetupVanillaInstanceEvent(instance);
+        SetupVanillaInstanceEvent event = new SetupVanillaInstanceEvent(instance, Path.of(name.value()));
         process().eventHandler().call(event);
 
         return instance;
@@ -200,5 +204,6 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
 
     private void hookCoreLibrary() {
         VanillaDimensionTypes.registerAll(process().dimension());
+        BlockLootTables.load(Path.of("mojang-data", "loot_tables", "blocks"));
     }
 }
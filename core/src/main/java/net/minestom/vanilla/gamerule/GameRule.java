@@ -0,0 +1,118 @@
+package net.minestom.vanilla.gamerule;
+
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A typed vanilla game rule, e.g. {@code randomTickSpeed} or {@code doTileDrops}.
+ * <p>
+ * Game rules are stored per instance, see {@link GameRules}.
+ * </p>
+ *
+ * @param <T> the type of the value, either {@link Boolean} or {@link Integer}
+ */
+public final class GameRule<T> {
+
+    private static final List<GameRule<?>> VALUES = new ArrayList<>();
+    private static final Map<String, GameRule<?>> NAME_2_RULE = new HashMap<>();
+
+    // Only the rules the server implements are registered, so that /gamerule does not accept rules without effect
+    public static final GameRule<Boolean> DO_TILE_DROPS = bool("doTileDrops", true);
+    public static final GameRule<Boolean> TNT_EXPLOSION_DROP_DECAY = bool("tntExplosionDropDecay", false);
+    public static final GameRule<Integer> RANDOM_TICK_SPEED = integer("randomTickSpeed",
+            Integer.getInteger("vri.gamerule.randomtickspeed", 3));
+
+    private final int id;
+    private final @NotNull String name;
+    private final @NotNull Class<T> type;
+    private final @NotNull T defaultValue;
+    private final @NotNull Function<String, T> parser;
+    private final @NotNull Tag<String> tag;
+
+    private GameRule(@NotNull String name, @NotNull Class<T> type, @NotNull T defaultValue,
+                     @NotNull Function<String, T> parser) {
+        this.id = VALUES.size();
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+        // Same location as the vanilla level.dat
+        this.tag = Tag.String(name).path("Data", "GameRules");
+        VALUES.add(this);
+        NAME_2_RULE.put(name, this);
+    }
+
+    private static GameRule<Boolean> bool(String name, boolean defaultValue) {
+        return new GameRule<>(name, Boolean.class, defaultValue, value -> switch (value) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> null;
+        });
+    }
+
+    private static GameRule<Integer> integer(String name, int defaultValue) {
+        return new GameRule<>(name, Integer.class, defaultValue, value -> {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return all the game rules, in registration order
+     */
+    public static @NotNull List<GameRule<?>> values() {
+        return Collections.unmodifiableList(VALUES);
+    }
+
+    /**
+     * Gets a game rule from its vanilla name.
+     *
+     * @param name the name, e.g. {@code randomTickSpeed}
+     * @return the game rule, or null if there is none with this name
+     */
+    public static @Nullable GameRule<?> fromName(@NotNull String name) {
+        return NAME_2_RULE.get(name);
+    }
+
+    /**
+     * Parses a value of this game rule.
+     *
+     * @param value the value as a string
+     * @return the parsed value, or null if it is not valid
+     */
+    public @Nullable T parse(@NotNull String value) {
+        return parser.apply(value);
+    }
+
+    int id() {
+        return id;
+    }
+
+    @NotNull Tag<String> tag() {
+        return tag;
+    }
+
+    public @NotNull String name() {
+        return name;
+    }
+
+    public @NotNull Class<T> type() {
+        return type;
+    }
+
+    public @NotNull T defaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,140 @@
+package net.minestom.vanilla.gamerule;
+
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The game rules of a single instance.
+ * <p>
+ * Values are written to the instance's tags (under {@code Data.GameRules}, like the vanilla level.dat) so that they
+ * are saved with the world. Every value is also cached as a primitive, so hot paths can use {@link #getInt} and
+ * {@link #getBoolean} without any parsing or boxing.
+ * </p>
+ */
+public final class GameRules {
+
+    private static final Map<Instance, GameRules> instance2GameRules =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<GameRule<?>, List<ChangeListener<?>>> rule2Listeners = new ConcurrentHashMap<>();
+
+    private final Instance instance;
+    private final Object[] values;
+    private final int[] primitiveValues;
+
+    private GameRules(@NotNull Instance instance) {
+        this.instance = instance;
+        List<GameRule<?>> rules = GameRule.values();
+        this.values = new Object[rules.size()];
+        this.primitiveValues = new int[rules.size()];
+        for (GameRule<?> rule : rules) {
+            load(rule);
+        }
+    }
+
+    /**
+     * Gets the game rules of this instance, loading them from the instance's tags if needed.
+     *
+     * @param instance the instance
+     * @return the game rules
+     */
+    public static @NotNull GameRules of(@NotNull Instance instance) {
+        return instance2GameRules.computeIfAbsent(instance, GameRules::new);
+    }
+
+    /**
+     * Adds a listener called whenever this game rule changes in any instance.
+     *
+     * @param rule     the game rule
+     * @param listener the listener
+     */
+    public static <T> void addListener(@NotNull GameRule<T> rule, @NotNull ChangeListener<T> listener) {
+        rule2Listeners.computeIfAbsent(rule, ignored -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public interface ChangeListener<T> {
+        void onChange(@NotNull Instance instance, @NotNull T oldValue, @NotNull T newValue);
+    }
+
+    /**
+     * @return the value of this game rule
+     */
+    public <T> @NotNull T get(@NotNull GameRule<T> rule) {
+        return rule.type().cast(values[rule.id()]);
+    }
+
+    /**
+     * Gets an integer game rule without boxing.
+     *
+     * @param rule the game rule
+     * @return the value
+     */
+    public int getInt(@NotNull GameRule<Integer> rule) {
+        return primitiveValues[rule.id()];
+    }
+
+    /**
+     * Gets a boolean game rule without boxing.
+     *
+     * @param rule the game rule
+     * @return the value
+     */
+    public boolean getBoolean(@NotNull GameRule<Boolean> rule) {
+        return primitiveValues[rule.id()] != 0;
+    }
+
+    /**
+     * Changes the value of a game rule, notifying all listeners if it has changed.
+     *
+     * @param rule  the game rule
+     * @param value the new value
+     */
+    public <T> void set(@NotNull GameRule<T> rule, @NotNull T value) {
+        T oldValue;
+        synchronized (this) {
+            oldValue = get(rule);
+            if (oldValue.equals(value)) return;
+            cache(rule, value);
+            instance.setTag(rule.tag(), String.valueOf(value));
+        }
+
+        List<ChangeListener<?>> listeners = rule2Listeners.get(rule);
+        if (listeners == null) return;
+        for (ChangeListener<?> listener : listeners) {
+            //noinspection unchecked
+            ((ChangeListener<T>) listener).onChange(instance, oldValue, value);
+        }
+    }
+
+    /**
+     * Parses and changes the value of a game rule.
+     *
+     * @param rule  the game rule
+     * @param value the new value as a string
+     * @return false if the value could not be parsed
+     */
+    public <T> boolean parseAndSet(@NotNull GameRule<T> rule, @NotNull String value) {
+        T parsed = rule.parse(value);
+        if (parsed == null) return false;
+        set(rule, parsed);
+        return true;
+    }
+
+    private <T> void load(GameRule<T> rule) {
+        String saved = instance.getTag(rule.tag());
+        T value = saved == null ? null : rule.parse(saved);
+        cache(rule, value == null ? rule.defaultValue() : value);
+    }
+
+    private void cache(GameRule<?> rule, Object value) {
+        values[rule.id()] = value;
+        if (value instanceof Integer integer) {
+            primitiveValues[rule.id()] = integer;
+        } else if (value instanceof Boolean bool) {
+            primitiveValues[rule.id()] = bool ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package net.minestom.vanilla.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes blocks right away through {@link BlockChanges#writeBlock(Instance, int, int, int, Block)}, but only sends
+ * them once {@link #send()} is called, as one multi block change packet per changed section.
+ * <p>
+ * Batches are not thread safe, they are meant to be used from the tick thread of their instance.
+ * </p>
+ */
+public final class BlockChangeBatch {
+
+    private final Instance instance;
+    // The encoded block changes by packed section position
+    private final Long2ObjectMap<LongArrayList> section2Changes = new Long2ObjectOpenHashMap<>();
+
+    public BlockChangeBatch(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Writes a block, and records the change to be sent.
+     *
+     * @param x     the block x coordinate
+     * @param y     the block y coordinate
+     * @param z     the block z coordinate
+     * @param block the new block
+     * @return false if the chunk of this block is not loaded
+     */
+    public boolean setBlock(int x, int y, int z, @NotNull Block block) {
+        if (!BlockChanges.writeBlock(instance, x, y, z, block)) return false;
+
+        long section = PackedBlockPos.pack(x >> 4, y >> 4, z >> 4);
+        LongArrayList changes = section2Changes.get(section);
+        if (changes == null) {
+            changes = new LongArrayList();
+            section2Changes.put(section, changes);
+        }
+        changes.add((long) block.stateId() << 12 | (x & 0xF) << 8 | (z & 0xF) << 4 | (y & 0xF));
+        return true;
+    }
+
+    /**
+     * @return true if no change is waiting to be sent
+     */
+    public boolean isEmpty() {
+        return section2Changes.isEmpty();
+    }
+
+    /**
+     * Sends the recorded changes to the viewers of their chunks, and clears them.
+     */
+    public void send() {
+        for (Long2ObjectMap.Entry<LongArrayList> entry : section2Changes.long2ObjectEntrySet()) {
+            long section = entry.getLongKey();
+            int chunkX = PackedBlockPos.x(section);
+            int chunkZ = PackedBlockPos.z(section);
+            Chunk chunk = instance.getChunk(chunkX, chunkZ);
+            if (chunk == null) continue;
+            chunk.sendPacketToViewers(new MultiBlockChangePacket(chunkX, PackedBlockPos.y(section), chunkZ,
+                    false, entry.getValue().toLongArray()));
+        }
+        section2Changes.clear();
+    }
+}
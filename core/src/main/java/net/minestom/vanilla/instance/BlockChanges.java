@@ -0,0 +1,121 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The path every vanilla system changes blocks through.
+ * <p>
+ * Each change is reported to the registered {@link Listener listeners}, so that systems caching information about the
+ * blocks of a chunk, such as the random tick system, never miss a write. {@link #setBlock(Instance, int, int, int, Block)}
+ * sends the change to players right away, while {@link #writeBlock(Instance, int, int, int, Block)} leaves sending to
+ * the caller, for systems that batch their packets.
+ * </p>
+ */
+public final class BlockChanges {
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private BlockChanges() {
+    }
+
+    public interface Listener {
+        /**
+         * Called after a block has been changed.
+         *
+         * @param instance the instance
+         * @param chunk    the chunk of the block
+         * @param x        the block x coordinate
+         * @param y        the block y coordinate
+         * @param z        the block z coordinate
+         * @param block    the new block
+         */
+        void blockChanged(@NotNull Instance instance, @NotNull Chunk chunk, int x, int y, int z, @NotNull Block block);
+    }
+
+    /**
+     * Registers a listener called after every block change made through this class.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(@NotNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sets a block with the full placement logic of the instance, and sends it to players.
+     *
+     * @param instance the instance
+     * @param x        the block x coordinate
+     * @param y        the block y coordinate
+     * @param z        the block z coordinate
+     * @param block    the new block
+     */
+    public static void setBlock(@NotNull Instance instance, int x, int y, int z, @NotNull Block block) {
+        Chunk chunk = instance.getChunkAt(x, z);
+        if (chunk == null) return;
+        instance.setBlock(x, y, z, block);
+        changed(instance, chunk, x, y, z, block);
+    }
+
+    /**
+     * @see #setBlock(Instance, int, int, int, Block)
+     */
+    public static void setBlock(@NotNull Instance instance, @NotNull Point position, @NotNull Block block) {
+        setBlock(instance, position.blockX(), position.blockY(), position.blockZ(), block);
+    }
+
+    /**
+     * Writes a block to its chunk without sending it to players, the caller is expected to send the change itself,
+     * e.g. in a multi block change packet.
+     * <p>
+     * The handlers of the previous and new blocks are called as they would be by the instance. Neighbouring blocks
+     * are not updated.
+     * </p>
+     *
+     * @param instance the instance
+     * @param x        the block x coordinate
+     * @param y        the block y coordinate
+     * @param z        the block z coordinate
+     * @param block    the new block
+     * @return false if the chunk of this block is not loaded
+     */
+    public static boolean writeBlock(@NotNull Instance instance, int x, int y, int z, @NotNull Block block) {
+        Chunk chunk = instance.getChunkAt(x, z);
+        if (chunk == null) return false;
+
+        Block previous;
+        synchronized (chunk) {
+            previous = chunk.getBlock(x, y, z);
+            chunk.setBlock(x, y, z, block);
+        }
+
+        BlockHandler previousHandler = previous.handler();
+        BlockHandler handler = block.handler();
+        if (previousHandler != null || handler != null) {
+            Vec position = new Vec(x, y, z);
+            if (previousHandler != null) {
+                previousHandler.onDestroy(new BlockHandler.Destroy(previous, instance, position));
+            }
+            if (handler != null) {
+                handler.onPlace(new BlockHandler.Placement(block, instance, position));
+            }
+        }
+        changed(instance, chunk, x, y, z, block);
+        return true;
+    }
+
+    private static void changed(Instance instance, Chunk chunk, int x, int y, int z, Block block) {
+        for (Listener listener : listeners) {
+            listener.blockChanged(instance, chunk, x, y, z, block);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called once per tick after explosions removed blocks, with every position they destroyed, so that features can
+ * react to the whole change at once (e.g. updating the neighbours of each position a single time).
+ */
+public class BlocksExplodedEvent implements InstanceEvent {
+
+    private final Instance instance;
+    private final long[] positions;
+
+    public BlocksExplodedEvent(@NotNull Instance instance, long @NotNull [] positions) {
+        this.instance = instance;
+        this.positions = positions;
+    }
+
+    @Override
+    public @NotNull Instance getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the destroyed positions, packed with {@link net.minestom.vanilla.utils.PackedBlockPos}
+     */
+    public long @NotNull [] getPositions() {
+        return positions;
+    }
+}
@@ -0,0 +1,33 @@
+package net.minestom.vanilla.instance;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How much of the game runs in a chunk, the equivalent of vanilla's chunk full statuses.
+ */
+public enum ChunkTier {
+    /**
+     * Not loaded, or about to be unloaded. Nothing runs.
+     */
+    INACCESSIBLE,
+    /**
+     * Loaded, but nothing ticks. Blocks can be read and written, e.g. by fluids flowing in from a ticking chunk.
+     */
+    BORDER,
+    /**
+     * Block updates and scheduled ticks run, entities and random ticks do not.
+     */
+    TICKING,
+    /**
+     * Everything runs.
+     */
+    ENTITY_TICKING;
+
+    /**
+     * @param tier the tier to compare with
+     * @return true if this tier runs at least as much as the given tier
+     */
+    public boolean isAtLeast(@NotNull ChunkTier tier) {
+        return ordinal() >= tier.ordinal();
+    }
+}
@@ -0,0 +1,65 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Looks up the {@link ChunkTier} of chunks, so that the tick systems can skip the chunks that should not tick.
+ * <p>
+ * The tiers are provided per instance by whichever feature manages chunk loading (tickets). Instances without a
+ * provider are entirely {@link ChunkTier#ENTITY_TICKING}, which matches plain Minestom behaviour.
+ * </p>
+ */
+public final class ChunkTiers {
+
+    private static final Provider DEFAULT = (chunkX, chunkZ) -> ChunkTier.ENTITY_TICKING;
+    private static final Map<Instance, Provider> instance2Provider = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ChunkTiers() {
+    }
+
+    public interface Provider {
+        /**
+         * @param chunkX the chunk x coordinate
+         * @param chunkZ the chunk z coordinate
+         * @return the tier of this chunk
+         */
+        @NotNull ChunkTier tier(int chunkX, int chunkZ);
+    }
+
+    /**
+     * Sets the tier provider of this instance, replacing any previous one.
+     *
+     * @param instance the instance
+     * @param provider the provider
+     */
+    public static void setProvider(@NotNull Instance instance, @NotNull Provider provider) {
+        instance2Provider.put(instance, provider);
+    }
+
+    /**
+     * Gets the tier provider of this instance. Callers that query many chunks should keep the provider for the
+     * duration of their tick rather than calling {@link #get(Instance, int, int)} for each chunk.
+     *
+     * @param instance the instance
+     * @return the provider, never null
+     */
+    public static @NotNull Provider of(@NotNull Instance instance) {
+        Provider provider = instance2Provider.get(instance);
+        return provider == null ? DEFAULT : provider;
+    }
+
+    /**
+     * @param instance the instance
+     * @param chunkX   the chunk x coordinate
+     * @param chunkZ   the chunk z coordinate
+     * @return the tier of this chunk
+     */
+    public static @NotNull ChunkTier get(@NotNull Instance instance, int chunkX, int chunkZ) {
+        return of(instance).tier(chunkX, chunkZ);
+    }
+}
@@ -0,0 +1,116 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Finds the entities of an instance within an area, using the entities the instance already tracks per chunk.
+ * <p>
+ * Each chunk overlapping the area is visited once, and an entity belongs to a single chunk, so the results never
+ * contain duplicates. Entities are matched against the area with their bounding box, except for
+ * {@link #inSphere(Instance, Point, double) sphere queries} which match their position.
+ * </p>
+ */
+public final class EntityQuery {
+
+    // How far the bounding box of an entity may reach past its position horizontally
+    private static final double MAX_HALF_WIDTH = 2;
+
+    private EntityQuery() {
+    }
+
+    /**
+     * Calls the consumer for each entity whose bounding box intersects this box.
+     *
+     * @param instance the instance
+     * @param minX     the minimum x coordinate of the box
+     * @param minY     the minimum y coordinate of the box
+     * @param minZ     the minimum z coordinate of the box
+     * @param maxX     the maximum x coordinate of the box
+     * @param maxY     the maximum y coordinate of the box
+     * @param maxZ     the maximum z coordinate of the box
+     * @param consumer the consumer
+     */
+    public static void forEachInBox(@NotNull Instance instance, double minX, double minY, double minZ,
+                                    double maxX, double maxY, double maxZ, @NotNull Consumer<Entity> consumer) {
+        // Entities are bucketed by their position, which may lie in a neighbouring chunk of a box they overlap
+        double fromX = minX - MAX_HALF_WIDTH;
+        double fromZ = minZ - MAX_HALF_WIDTH;
+        double toX = maxX + MAX_HALF_WIDTH;
+        double toZ = maxZ + MAX_HALF_WIDTH;
+        forEachCandidate(instance, fromX, fromZ, toX, toZ, entity -> {
+            Pos pos = entity.getPosition();
+            BoundingBox box = entity.getBoundingBox();
+            double halfWidth = box.width() / 2;
+            double halfDepth = box.depth() / 2;
+            if (pos.x() + halfWidth < minX || pos.x() - halfWidth > maxX) return;
+            if (pos.y() + box.height() < minY || pos.y() > maxY) return;
+            if (pos.z() + halfDepth < minZ || pos.z() - halfDepth > maxZ) return;
+            consumer.accept(entity);
+        });
+    }
+
+    /**
+     * @return the entities whose bounding box intersects this box
+     * @see #forEachInBox(Instance, double, double, double, double, double, double, Consumer)
+     */
+    public static @NotNull List<Entity> inBox(@NotNull Instance instance, double minX, double minY, double minZ,
+                                              double maxX, double maxY, double maxZ) {
+        List<Entity> entities = new ArrayList<>();
+        forEachInBox(instance, minX, minY, minZ, maxX, maxY, maxZ, entities::add);
+        return entities;
+    }
+
+    /**
+     * Calls the consumer for each entity whose position is within this sphere.
+     *
+     * @param instance the instance
+     * @param center   the center of the sphere
+     * @param radius   the radius of the sphere
+     * @param consumer the consumer
+     */
+    public static void forEachInSphere(@NotNull Instance instance, @NotNull Point center, double radius,
+                                       @NotNull Consumer<Entity> consumer) {
+        double radiusSq = radius * radius;
+        forEachCandidate(instance, center.x() - radius, center.z() - radius, center.x() + radius, center.z() + radius,
+                entity -> {
+                    if (entity.getPosition().distanceSquared(center) <= radiusSq) consumer.accept(entity);
+                });
+    }
+
+    /**
+     * @return the entities whose position is within this sphere
+     * @see #forEachInSphere(Instance, Point, double, Consumer)
+     */
+    public static @NotNull List<Entity> inSphere(@NotNull Instance instance, @NotNull Point center, double radius) {
+        List<Entity> entities = new ArrayList<>();
+        forEachInSphere(instance, center, radius, entities::add);
+        return entities;
+    }
+
+    private static void forEachCandidate(Instance instance, double minX, double minZ, double maxX, double maxZ,
+                                         Consumer<Entity> consumer) {
+        int minChunkX = (int) Math.floor(minX) >> 4;
+        int minChunkZ = (int) Math.floor(minZ) >> 4;
+        int maxChunkX = (int) Math.floor(maxX) >> 4;
+        int maxChunkZ = (int) Math.floor(maxZ) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Chunk chunk = instance.getChunk(chunkX, chunkZ);
+                if (chunk == null) continue;
+                for (Entity entity : instance.getChunkEntities(chunk)) {
+                    consumer.accept(entity);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.item.ItemStack;
+import net.minestom.vanilla.loot.BlockLootTables;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The items dropped by the blocks an explosion destroyed, merged into full stacks before being spawned, as vanilla
+ * does. Each stack is spawned at the position of the first block that contributed to it.
+ */
+final class ExplosionDrops {
+
+    private final List<ItemStack> stacks = new ArrayList<>();
+    private final List<Point> positions = new ArrayList<>();
+
+    void add(@NotNull ItemStack stack, @NotNull Point position) {
+        int maxStackSize = stack.material().maxStackSize();
+        int remaining = stack.amount();
+        for (int i = 0; i < stacks.size() && remaining > 0; i++) {
+            ItemStack existing = stacks.get(i);
+            if (existing.amount() >= maxStackSize || !existing.isSimilar(stack)) continue;
+            int moved = Math.min(remaining, maxStackSize - existing.amount());
+            stacks.set(i, existing.withAmount(existing.amount() + moved));
+            remaining -= moved;
+        }
+        if (remaining > 0) {
+            stacks.add(stack.withAmount(remaining));
+            positions.add(position);
+        }
+    }
+
+    void spawn(@NotNull Instance instance, @NotNull Random random) {
+        for (int i = 0; i < stacks.size(); i++) {
+            BlockLootTables.spawn(instance, positions.get(i), stacks.get(i), random);
+        }
+        stacks.clear();
+        positions.clear();
+    }
+}
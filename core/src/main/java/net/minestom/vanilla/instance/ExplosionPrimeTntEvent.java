@@ -0,0 +1,49 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when a TNT block destroyed by an explosion should become primed TNT, once the chain reaction budget of the
+ * {@link ExplosionScheduler} allows it. The TNT block has already been removed, listeners spawn the entity.
+ */
+public class ExplosionPrimeTntEvent implements InstanceEvent {
+
+    private final Instance instance;
+    private final Point blockPosition;
+    private final Point explosionCenter;
+    private final int fuseTime;
+
+    public ExplosionPrimeTntEvent(@NotNull Instance instance, @NotNull Point blockPosition,
+                                  @NotNull Point explosionCenter, int fuseTime) {
+        this.instance = instance;
+        this.blockPosition = blockPosition;
+        this.explosionCenter = explosionCenter;
+        this.fuseTime = fuseTime;
+    }
+
+    @Override
+    public @NotNull Instance getInstance() {
+        return instance;
+    }
+
+    public @NotNull Point getBlockPosition() {
+        return blockPosition;
+    }
+
+    /**
+     * @return the center of the explosion that destroyed the TNT block
+     */
+    public @NotNull Point getExplosionCenter() {
+        return explosionCenter;
+    }
+
+    /**
+     * @return the fuse time of the primed TNT, in ticks
+     */
+    public int getFuseTime() {
+        return fuseTime;
+    }
+}
@@ -0,0 +1,262 @@
+package net.minestom.vanilla.instance;
+
+import it.unimi.dsi.fastutil.longs.*;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.ExplosionPacket;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.vanilla.loot.LootContext;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the explosions triggered in an instance during a tick, and applies them to the world together.
+ * <p>
+ * At the start of the next tick, the sections all the explosions can reach are copied once, and the rays of each
+ * explosion are cast in parallel on the explosion pool. Once they are all done, the tick thread damages the entities,
+ * removes the union of the blast sets and lights the fires through a {@link BlockChangeBatch}, sends one multi block
+ * change packet per changed section, and calls a single {@link BlocksExplodedEvent}.
+ * </p>
+ * <p>
+ * Chain reactions are bounded: only a limited amount of explosions are computed, and TNT primed, per tick and per
+ * chunk. The rest is deferred to the following ticks, and counted in {@link #deferredExplosions()} and
+ * {@link #deferredPrimedTnt()}.
+ * </p>
+ */
+public final class ExplosionScheduler {
+
+    private static final @NotNull String EXPLOSIONS_PER_TICK_SYSTEM_PROPERTY = "vri.explosions.pertick";
+    private static final @NotNull String EXPLOSIONS_PER_CHUNK_SYSTEM_PROPERTY = "vri.explosions.perchunk";
+    private static final @NotNull String TNT_PER_TICK_SYSTEM_PROPERTY = "vri.explosions.tntpertick";
+    private static final @NotNull String TNT_PER_CHUNK_SYSTEM_PROPERTY = "vri.explosions.tntperchunk";
+
+    /**
+     * The maximum amount of explosions computed in a single tick, and centered in a single chunk.
+     */
+    private static final int EXPLOSIONS_PER_TICK = Integer.getInteger(EXPLOSIONS_PER_TICK_SYSTEM_PROPERTY, 64);
+    private static final int EXPLOSIONS_PER_CHUNK = Integer.getInteger(EXPLOSIONS_PER_CHUNK_SYSTEM_PROPERTY, 16);
+
+    /**
+     * The maximum amount of TNT primed by explosions in a single tick, and in a single chunk.
+     */
+    private static final int TNT_PER_TICK = Integer.getInteger(TNT_PER_TICK_SYSTEM_PROPERTY, 256);
+    private static final int TNT_PER_CHUNK = Integer.getInteger(TNT_PER_CHUNK_SYSTEM_PROPERTY, 64);
+
+    private static final Map<Instance, ExplosionScheduler> instance2Scheduler =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    public static @NotNull ExplosionScheduler of(@NotNull Instance instance) {
+        return instance2Scheduler.computeIfAbsent(instance, ExplosionScheduler::new);
+    }
+
+    private final Instance instance;
+    private final Random dropRandom = new Random();
+    private final List<VanillaExplosion> pending = new ArrayList<>();
+    private boolean castScheduled;
+
+    // Only accessed from the tick thread
+    private final ArrayDeque<PrimedTnt> pendingTnt = new ArrayDeque<>();
+    private boolean primeScheduled;
+
+    private final AtomicLong deferredExplosions = new AtomicLong();
+    private final AtomicLong deferredPrimedTnt = new AtomicLong();
+
+    private ExplosionScheduler(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Queues an explosion, it is computed at the start of the next tick that has budget left, and applied once
+     * computed.
+     *
+     * @param explosion the explosion
+     */
+    public synchronized void submit(@NotNull VanillaExplosion explosion) {
+        pending.add(explosion);
+        if (!castScheduled) {
+            castScheduled = true;
+            instance.scheduleNextTick(ignored -> cast());
+        }
+    }
+
+    /**
+     * @return the amount of times an explosion was deferred to a later tick, because of the explosion budget
+     */
+    public long deferredExplosions() {
+        return deferredExplosions.get();
+    }
+
+    /**
+     * @return the amount of times a TNT block destroyed by an explosion was deferred to a later tick before being
+     * primed, because of the TNT budget
+     */
+    public long deferredPrimedTnt() {
+        return deferredPrimedTnt.get();
+    }
+
+    /**
+     * Queues a TNT block destroyed by an explosion to be primed, must be called from the tick thread.
+     *
+     * @param blockPosition   the position of the TNT block
+     * @param explosionCenter the center of the explosion
+     * @param fuseTime        the fuse time of the primed TNT
+     */
+    void prime(@NotNull Point blockPosition, @NotNull Point explosionCenter, int fuseTime) {
+        pendingTnt.add(new PrimedTnt(blockPosition, explosionCenter, fuseTime));
+        if (!primeScheduled) {
+            primeScheduled = true;
+            instance.scheduleNextTick(ignored -> primeTnt());
+        }
+    }
+
+    private void primeTnt() {
+        Long2IntMap chunk2Count = new Long2IntOpenHashMap();
+        int budget = TNT_PER_TICK;
+        int deferred = 0;
+        int count = pendingTnt.size();
+        for (int i = 0; i < count; i++) {
+            PrimedTnt tnt = pendingTnt.poll();
+            Point position = tnt.blockPosition();
+            long chunk = ChunkUtils.getChunkIndex(position.blockX() >> 4, position.blockZ() >> 4);
+            if (budget <= 0 || chunk2Count.get(chunk) >= TNT_PER_CHUNK) {
+                // Keep the order, so that deferred TNT is primed first next tick
+                pendingTnt.add(tnt);
+                deferred++;
+                continue;
+            }
+            budget--;
+            chunk2Count.put(chunk, chunk2Count.get(chunk) + 1);
+            MinecraftServer.getGlobalEventHandler().call(new ExplosionPrimeTntEvent(instance, position,
+                    tnt.explosionCenter(), tnt.fuseTime()));
+        }
+
+        if (deferred > 0) {
+            deferredPrimedTnt.addAndGet(deferred);
+            Logger.debug("Deferred priming {} TNT to the next tick", deferred);
+        }
+        primeScheduled = !pendingTnt.isEmpty();
+        if (primeScheduled) instance.scheduleNextTick(ignored -> primeTnt());
+    }
+
+    private void cast() {
+        List<VanillaExplosion> explosions = new ArrayList<>();
+        synchronized (this) {
+            Long2IntMap chunk2Count = new Long2IntOpenHashMap();
+            Iterator<VanillaExplosion> iterator = pending.iterator();
+            while (iterator.hasNext() && explosions.size() < EXPLOSIONS_PER_TICK) {
+                VanillaExplosion explosion = iterator.next();
+                long chunk = ChunkUtils.getChunkIndex((int) Math.floor(explosion.getCenterX()) >> 4,
+                        (int) Math.floor(explosion.getCenterZ()) >> 4);
+                int count = chunk2Count.get(chunk);
+                if (count >= EXPLOSIONS_PER_CHUNK) continue;
+                chunk2Count.put(chunk, count + 1);
+                explosions.add(explosion);
+                iterator.remove();
+            }
+
+            if (!pending.isEmpty()) {
+                deferredExplosions.addAndGet(pending.size());
+                Logger.debug("Deferred {} explosions to the next tick", pending.size());
+                instance.scheduleNextTick(ignored -> cast());
+            } else {
+                castScheduled = false;
+            }
+        }
+
+        ExplosionSnapshot snapshot = ExplosionSnapshot.capture(instance, explosions);
+        List<CompletableFuture<long[]>> blastSets = new ArrayList<>(explosions.size());
+        for (VanillaExplosion explosion : explosions) {
+            if (!explosion.destroysBlocks()) {
+                blastSets.add(CompletableFuture.completedFuture(new long[0]));
+                continue;
+            }
+            Random random = explosion.newRandom();
+            blastSets.add(CompletableFuture.supplyAsync(() -> explosion.castRays(snapshot, random), VanillaExplosion.POOL));
+        }
+
+        CompletableFuture.allOf(blastSets.toArray(CompletableFuture[]::new))
+                .thenRun(() -> instance.scheduleNextTick(ignored -> apply(explosions, blastSets)))
+                .exceptionally(throwable -> {
+                    Logger.error(throwable, "Failed to compute {} explosions", explosions.size());
+                    return null;
+                });
+    }
+
+    private void apply(List<VanillaExplosion> explosions, List<CompletableFuture<long[]>> blastSets) {
+        long start = System.nanoTime();
+
+        // Entities are pushed by every explosion, before any block is removed
+        for (VanillaExplosion explosion : explosions) {
+            explosion.affectEntities(instance);
+        }
+
+        // Merge the blast sets, keeping the blocks that are still there
+        LongLinkedOpenHashSet destroyed = new LongLinkedOpenHashSet();
+        long[][] destroyedBy = new long[explosions.size()][];
+        ExplosionDrops[] drops = new ExplosionDrops[explosions.size()];
+        for (int i = 0; i < explosions.size(); i++) {
+            VanillaExplosion explosion = explosions.get(i);
+            LongArrayList own = new LongArrayList();
+            drops[i] = new ExplosionDrops();
+            LootContext loot = explosion.lootContext(instance);
+            for (long packed : blastSets.get(i).join()) {
+                if (destroyed.contains(packed)) continue;
+                int x = PackedBlockPos.x(packed);
+                int y = PackedBlockPos.y(packed);
+                int z = PackedBlockPos.z(packed);
+                Block block = instance.getBlock(x, y, z);
+                if (block.isAir()) continue;
+                destroyed.add(packed);
+                own.add(packed);
+                explosion.destroyed(instance, new Vec(x, y, z), block, loot, drops[i]);
+            }
+            destroyedBy[i] = own.toLongArray();
+        }
+
+        BlockChangeBatch batch = new BlockChangeBatch(instance);
+        for (LongIterator iterator = destroyed.iterator(); iterator.hasNext(); ) {
+            long packed = iterator.nextLong();
+            batch.setBlock(PackedBlockPos.x(packed), PackedBlockPos.y(packed), PackedBlockPos.z(packed), Block.AIR);
+        }
+        for (int i = 0; i < explosions.size(); i++) {
+            VanillaExplosion explosion = explosions.get(i);
+            if (!explosion.startsFires()) continue;
+            for (long packed : destroyedBy[i]) {
+                int x = PackedBlockPos.x(packed);
+                int y = PackedBlockPos.y(packed);
+                int z = PackedBlockPos.z(packed);
+                if (explosion.ignites(instance, x, y, z)) {
+                    batch.setBlock(x, y, z, Block.FIRE);
+                }
+            }
+        }
+
+        for (ExplosionDrops explosionDrops : drops) {
+            explosionDrops.spawn(instance, dropRandom);
+        }
+
+        // The blocks are sent below, the explosion packets only carry the effects
+        for (VanillaExplosion explosion : explosions) {
+            instance.sendGroupedPacket(new ExplosionPacket(explosion.getCenterX(), explosion.getCenterY(),
+                    explosion.getCenterZ(), explosion.getStrength(), new byte[0], 0, 0, 0));
+        }
+        batch.send();
+
+        if (!destroyed.isEmpty()) {
+            MinecraftServer.getGlobalEventHandler().call(new BlocksExplodedEvent(instance, destroyed.toLongArray()));
+        }
+        Logger.debug("Applied {} explosions destroying {} blocks in {}µs",
+                explosions.size(), destroyed.size(), (System.nanoTime() - start) / 1000);
+    }
+
+    private record PrimedTnt(@NotNull Point blockPosition, @NotNull Point explosionCenter, int fuseTime) {
+    }
+}
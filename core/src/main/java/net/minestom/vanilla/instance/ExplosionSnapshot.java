@@ -0,0 +1,117 @@
+package net.minestom.vanilla.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * An immutable copy of the block palettes of the sections explosions can reach, so that their rays can be cast
+ * off the tick thread.
+ * <p>
+ * Sections of chunks that were not loaded when the snapshot was taken are missing, rays stop when they reach them.
+ * </p>
+ */
+final class ExplosionSnapshot {
+
+    static final int MISSING = -1;
+
+    private final Long2ObjectMap<Palette> sections;
+
+    interface SectionSource {
+        /**
+         * @return a copy of the block palette of this section, or null if it is not loaded
+         */
+        @Nullable Palette copy(int chunkX, int sectionY, int chunkZ);
+    }
+
+    private ExplosionSnapshot(Long2ObjectMap<Palette> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Copies the sections these explosions can reach, must be called from the instance's tick thread. Sections shared
+     * by several explosions are only copied once.
+     *
+     * @param instance   the instance
+     * @param explosions the explosions
+     * @return the snapshot
+     */
+    static @NotNull ExplosionSnapshot capture(@NotNull Instance instance, @NotNull List<VanillaExplosion> explosions) {
+        SectionSource source = (chunkX, sectionY, chunkZ) -> {
+            Chunk chunk = instance.getChunk(chunkX, chunkZ);
+            if (chunk == null || !chunk.isLoaded()) return null;
+            if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) return null;
+            synchronized (chunk) {
+                return chunk.getSection(sectionY).blockPalette().clone();
+            }
+        };
+        Long2ObjectMap<Palette> sections = new Long2ObjectOpenHashMap<>();
+        for (VanillaExplosion explosion : explosions) {
+            if (!explosion.destroysBlocks()) continue;
+            copySections(source, sections, explosion.getCenterX(), explosion.getCenterY(), explosion.getCenterZ(),
+                    ExplosionRays.reach(explosion.getStrength()));
+        }
+        return new ExplosionSnapshot(sections);
+    }
+
+    /**
+     * Copies the sections within this radius of a center.
+     *
+     * @param source  the source of the sections
+     * @param centerX the x coordinate of the center
+     * @param centerY the y coordinate of the center
+     * @param centerZ the z coordinate of the center
+     * @param radius  the radius, in blocks
+     * @return the snapshot
+     */
+    static @NotNull ExplosionSnapshot capture(@NotNull SectionSource source, double centerX, double centerY,
+                                              double centerZ, double radius) {
+        Long2ObjectMap<Palette> sections = new Long2ObjectOpenHashMap<>();
+        copySections(source, sections, centerX, centerY, centerZ, radius);
+        return new ExplosionSnapshot(sections);
+    }
+
+    private static void copySections(SectionSource source, Long2ObjectMap<Palette> sections,
+                                     double centerX, double centerY, double centerZ, double radius) {
+        int minX = (int) Math.floor(centerX - radius) >> 4;
+        int maxX = (int) Math.floor(centerX + radius) >> 4;
+        int minY = (int) Math.floor(centerY - radius) >> 4;
+        int maxY = (int) Math.floor(centerY + radius) >> 4;
+        int minZ = (int) Math.floor(centerZ - radius) >> 4;
+        int maxZ = (int) Math.floor(centerZ + radius) >> 4;
+
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                for (int section = minY; section <= maxY; section++) {
+                    long key = PackedBlockPos.pack(chunkX, section, chunkZ);
+                    if (sections.containsKey(key)) continue;
+                    Palette palette = source.copy(chunkX, section, chunkZ);
+                    if (palette != null) sections.put(key, palette);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the palette of the section at these section coordinates, or null if it is missing
+     */
+    @Nullable Palette section(int sectionX, int sectionY, int sectionZ) {
+        return sections.get(PackedBlockPos.pack(sectionX, sectionY, sectionZ));
+    }
+
+    /**
+     * @return the block state id at this position, or {@link #MISSING} if its section is missing
+     */
+    int stateId(int x, int y, int z) {
+        Palette palette = section(x >> 4, y >> 4, z >> 4);
+        if (palette == null) return MISSING;
+        return palette.get(x & 15, y & 15, z & 15);
+    }
+}
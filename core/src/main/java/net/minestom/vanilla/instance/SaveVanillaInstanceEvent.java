@@ -0,0 +1,22 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called right before an instance and its chunks are saved, so that features can write their state to tags.
+ */
+public class SaveVanillaInstanceEvent implements InstanceEvent {
+
+    private final Instance instance;
+
+    public SaveVanillaInstanceEvent(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    @Override
+    public @NotNull Instance getInstance() {
+        return instance;
+    }
+}
@@ -4,16 +4,27 @@ import net.minestom.server.event.trait.InstanceEvent;
 import net.minestom.server.instance.Instance;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
+
 public class SetupVanillaInstanceEvent implements InstanceEvent {
 
     private final Instance instance;
+    private final Path directory;
 
-    public SetupVanillaInstanceEvent(@NotNull Instance instance) {
+    public SetupVanillaInstanceEvent(@NotNull Instance instance, @NotNull Path directory) {
         this.instance = instance;
+        this.directory = directory;
     }
 
     @Override
     public @NotNull Instance getInstance() {
         return instance;
     }
+
+    /**
+     * @return the directory the instance is saved to, where features can keep their own files
+     */
+    public @NotNull Path getDirectory() {
+        return directory;
+    }
 }
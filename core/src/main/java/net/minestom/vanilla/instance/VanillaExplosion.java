@@ -2,8 +2,8 @@ package net.minestom.vanilla.instance;
 
 import dev.emortal.rayfast.area.Intersection;
 import dev.emortal.rayfast.area.area3d.Area3d;
-import dev.emortal.rayfast.casting.grid.GridCast;
 import dev.emortal.rayfast.vector.Vector3d;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
@@ -13,179 +13,175 @@ import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.instance.Explosion;
 import net.minestom.server.instance.Instance;
-import net.minestom.server.instance.batch.AbsoluteBlockBatch;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.utils.time.TimeUnit;
 import net.minestom.vanilla.damage.DamageTypes;
+import net.minestom.vanilla.gamerule.GameRule;
+import net.minestom.vanilla.gamerule.GameRules;
+import net.minestom.vanilla.loot.BlockLootTables;
+import net.minestom.vanilla.loot.LootContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class VanillaExplosion extends Explosion {
 
     public static final String DROP_EVERYTHING_KEY = "minestom:drop_everything";
     public static final String IS_FLAMING_KEY = "minestom:is_flaming";
     public static final String DONT_DESTROY_BLOCKS_KEY = "minestom:no_block_damage";
+    public static final String IS_TNT_KEY = "minestom:is_tnt";
     private static final Random explosionRNG = new Random();
+    // The fuse time of TNT primed by other means than an explosion
+    private static final int TNT_FUSE_TIME = 80;
 
     private final boolean startsFires;
     private final boolean dropsEverything;
+    private final boolean tnt;
 
     public static final String THREAD_POOL_NAME = "MSVanilla-Explosion";
     public static final int THREAD_POOL_COUNT = 2;
+
+    /**
+     * Casts the rays of explosions triggered with {@link #trigger(Instance)}, off the tick thread.
+     */
+    static final ExecutorService POOL = Executors.newFixedThreadPool(THREAD_POOL_COUNT, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_POOL_NAME + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     private final Point center;
     private final boolean blockDamage;
 
-    protected VanillaExplosion(Point center, float strength, boolean dropEverything, boolean isFlaming, boolean dontDestroyBlocks) {
+    protected VanillaExplosion(Point center, float strength, boolean dropEverything, boolean isFlaming, boolean dontDestroyBlocks, boolean tnt) {
         super((float) center.x(), (float) center.y(), (float) center.z(), strength);
         this.center = center;
-        this.blockDamage = dropEverything;
+        this.blockDamage = !dontDestroyBlocks;
         this.startsFires = isFlaming;
-        this.dropsEverything = dontDestroyBlocks;
+        this.dropsEverything = dropEverything;
+        this.tnt = tnt;
     }
 
     public static Builder builder(Point center, float strength) {
         return new Builder(center, strength);
     }
 
+    /**
+     * Triggers this explosion through the {@link ExplosionScheduler}, like {@link #trigger(Instance)}, so that the
+     * blocks it destroys go through a {@link BlockChangeBatch} and a {@link BlocksExplodedEvent}.
+     */
     @Override
-    protected List<Point> prepare(Instance instance) {
-        float maximumBlastRadius = getStrength();
-        Set<Point> positions = new HashSet<>();
-
-        if (blockDamage) {
-            for (int x = 0; x < 16; x++) {
-                for (int y = 0; y < 16; y++) {
-                    for (int z = 0; z < 16; z++) {
-                        if (!(x == 0 || x == 15 || y == 0 || y == 15 || z == 0 || z == 15)) { // must be on outer edge of 16x16x16 cube
-                            continue;
-                        }
-
-                        Vec dir = new Vec(x - 8.5f, y - 8.5f, z - 8.5f).normalize();
-
-                        Iterator<Vector3d> gridIterator = GridCast.createGridIterator(getCenterX(), getCenterY(),
-                                getCenterZ(), dir.x(), dir.y(), dir.z(), 1.0, maximumBlastRadius);
-
-                        double intensity = (0.7f + explosionRNG.nextFloat() * 0.6f) * getStrength();
-
-                        while (gridIterator.hasNext()) {
-                            Vector3d vec = gridIterator.next();
-                            Point pos = new Vec(vec.x(), vec.y(), vec.z());
-
-                            intensity -= 0.225;
-
-                            Block block = instance.loadOptionalChunk(pos).join().getBlock(pos);
+    public void apply(@NotNull Instance instance) {
+        trigger(instance);
+    }
 
-                            double explosionResistance = block.registry().explosionResistance();
-                            intensity -= (explosionResistance / 5.0);
+    @Override
+    protected List<Point> prepare(Instance instance) {
+        // Unused, apply goes through the scheduler
+        return List.of();
+    }
 
-                            if (intensity < 0) {
-                                break;
-                            }
+    /**
+     * @return whether this explosion destroys blocks
+     */
+    boolean destroysBlocks() {
+        return blockDamage;
+    }
 
-                            positions.add(pos);
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * @return whether this explosion sets fire to the blocks it destroyed
+     */
+    boolean startsFires() {
+        return startsFires;
+    }
 
-        final float damageRadius = maximumBlastRadius; // TODO: should be different from blast radius
-        List<Entity> potentiallyDamagedEntities = getEntitiesAround(instance, damageRadius);
+    /**
+     * @return a random for casting the rays of this explosion, independent of the thread that uses it
+     */
+    Random newRandom() {
+        return new Random(explosionRNG.nextLong());
+    }
 
-        for (Entity entity : potentiallyDamagedEntities) {
+    /**
+     * Damages and pushes the entities caught in this explosion.
+     */
+    void affectEntities(Instance instance) {
+        final float damageRadius = getStrength(); // TODO: should be different from blast radius
+        for (Entity entity : EntityQuery.inSphere(instance, center, damageRadius)) {
             affect(entity, damageRadius);
         }
+    }
 
-        if (blockDamage) {
-            for (Point position : positions) {
-                Block block = instance.getBlock(position);
-
-                if (block.isAir()) {
-                    continue;
-                }
-
-//                if (block.compare(Block.TNT)) {
-//                    spawnPrimedTNT(instance, position, new Pos(getCenterX(), getCenterY(), getCenterZ()));
-//                    continue;
-//                }
-
-//                if (customBlock != null) {
-//                    if (!customBlock.onExplode(instance, position, lootTableArguments)) {
-//                        continue;
-//                    }
-//                }
-
-                double p = explosionRNG.nextDouble();
-                boolean shouldDropItem = p <= 1 / getStrength();
-
-                if (dropsEverything || shouldDropItem) {
-//                    LootTableManager lootTableManager = MinecraftServer.getLootTableManager();
-//                    try {
-//                        LootTable table = null;
-//                        if (customBlock != null) {
-//                            table = customBlock.getLootTable(lootTableManager);
-//                        }
-//                        if (table == null) {
-//                            table = lootTableManager.load(NamespaceID.from("blocks/" + block.name().toLowerCase()));
-//                        }
-//                        List<ItemStack> output = table.generate(lootTableArguments);
-//                        for (ItemStack out : output) {
-//                            ItemEntity itemEntity = new ItemEntity(out, new Position(position.getX() + explosionRNG.nextFloat(), position.getY() + explosionRNG.nextFloat(), position.getZ() + explosionRNG.nextFloat()));
-//                            itemEntity.setPickupDelay(500L, TimeUnit.MILLISECOND);
-//                            itemEntity.setInstance(instance);
-//                        }
-//                    } catch (FileNotFoundException e) {
-//                        // loot table does not exist, ignore
-//                    }
-                }
-            }
+    /**
+     * Reads the drop game rules of this instance: blocks only drop with {@link GameRule#DO_TILE_DROPS}, and the drops
+     * of TNT explosions only decay with {@link GameRule#TNT_EXPLOSION_DROP_DECAY}.
+     *
+     * @return the context the loot tables of the destroyed blocks are evaluated with, null if they drop nothing
+     */
+    @Nullable LootContext lootContext(Instance instance) {
+        GameRules rules = GameRules.of(instance);
+        if (!rules.getBoolean(GameRule.DO_TILE_DROPS)) {
+            return null;
         }
-
-        return new LinkedList<>(positions);
+        boolean decays = tnt ? rules.getBoolean(GameRule.TNT_EXPLOSION_DROP_DECAY) : !dropsEverything;
+        return LootContext.explosion(explosionRNG, decays ? getStrength() : 0);
     }
 
-//    private void spawnPrimedTNT(Instance instance, Point blockPosition, Point explosionSource) {
-//        Pos initialPosition = new Pos(blockPosition.blockX() + 0.5f, blockPosition.blockY() + 0f, blockPosition.blockZ() + 0.5f);
-//
-//        PrimedTNT primedTNT = new PrimedTNT(10 + (TNTBlockHandler.TNT_RANDOM.nextInt(5) - 2));
-//        primedTNT.setInstance(instance);
-//        primedTNT.teleport(initialPosition);
-//
-//        Point direction = blockPosition.sub(explosionSource);
-//        double distance = explosionSource.distanceSquared(blockPosition);
-//        Vec vec = new Vec(direction.x(), direction.y(), direction.z());
-//        vec = vec.div(distance);
-//
-//        primedTNT.setVelocity(vec.mul(15));
-//    }
-
-    @Override
-    protected void postSend(Instance instance, List<Point> blocks) {
-        if (!startsFires) {
+    /**
+     * Called for each block destroyed by this explosion, before it is removed.
+     *
+     * @param loot  the context to evaluate the loot table of the block with, from {@link #lootContext(Instance)}
+     * @param drops the drops of this explosion, spawned once all its blocks are removed
+     */
+    void destroyed(Instance instance, Point position, Block block, @Nullable LootContext loot, ExplosionDrops drops) {
+        if (block.compare(Block.TNT)) {
+            // Vanilla shortens the fuse of TNT primed by an explosion to between 1/8 and 3/8 of the default fuse
+            int fuseTime = explosionRNG.nextInt(TNT_FUSE_TIME / 4) + TNT_FUSE_TIME / 8;
+            ExplosionScheduler.of(instance).prime(position, center, fuseTime);
             return;
         }
 
-        AbsoluteBlockBatch batch = new AbsoluteBlockBatch();
-
-        for (Point position : blocks) {
-            Block block = instance.getBlock(position);
+        if (loot != null) {
+            BlockLootTables.drops(block, loot, stack -> drops.add(stack, position));
+        }
+    }
 
-            if (block.isAir() && position.y() > 0) {
-                if (explosionRNG.nextFloat() < 1 / 3f) {
+    /**
+     * Casts the rays of this explosion against a snapshot of the world. Safe to call from any thread.
+     *
+     * @return the packed positions of the blocks to destroy
+     */
+    long[] castRays(ExplosionSnapshot snapshot, Random random) {
+        LongOpenHashSet positions = new LongOpenHashSet();
+        ExplosionRays.cast(snapshot, getCenterX(), getCenterY(), getCenterZ(), getStrength(), random, positions);
+        return positions.toLongArray();
+    }
 
-                    Point belowPos = position.add(0, -1, 0);
+    /**
+     * Rolls whether this destroyed position catches fire, once the blocks have been removed.
+     */
+    boolean ignites(Instance instance, int x, int y, int z) {
+        Block block = instance.getBlock(x, y, z);
 
-                    // check that block below is solid
-                    Block below = instance.getBlock(belowPos);
+        if (block.isAir() && y > 0) {
+            if (explosionRNG.nextFloat() < 1 / 3f) {
+                // check that block below is solid
+                Block below = instance.getBlock(x, y - 1, z);
 
-                    if (below.isSolid()) {
-                        batch.setBlock(position, Block.FIRE);
-                    }
-                }
+                return below.isSolid();
             }
         }
-
-        batch.apply(instance, null);
+        return false;
     }
 
     private void affect(Entity e, final float damageRadius) {
@@ -254,39 +250,12 @@ public class VanillaExplosion extends Explosion {
         return (float) hits / rays;
     }
 
-    private List<Entity> getEntitiesAround(Instance instance, double damageRadius) {
-        int intRadius = (int) Math.ceil(damageRadius);
-        List<Entity> affected = new LinkedList<>();
-        double radiusSq = damageRadius * damageRadius;
-
-        for (int x = -intRadius; x <= intRadius; x++) {
-            for (int z = -intRadius; z <= intRadius; z++) {
-
-                int posX = (int) Math.floor(getCenterX() + x);
-                int posZ = (int) Math.floor(getCenterZ() + z);
-
-                var list = instance.getChunkEntities(instance.getChunk(posX >> 4, posZ >> 4));
-
-                for (Entity e : list) {
-                    Pos pos = e.getPosition();
-                    double dx = pos.x() - getCenterX();
-                    double dy = pos.y() - getCenterY();
-                    double dz = pos.z() - getCenterZ();
-
-                    if (dx * dx + dy * dy + dz * dz <= radiusSq) {
-                        if (!affected.contains(e)) {
-                            affected.add(e);
-                        }
-                    }
-                }
-            }
-        }
-
-        return affected;
-    }
-
+    /**
+     * Triggers this explosion without blocking the tick thread. All the explosions triggered in the same tick are
+     * computed together by the {@link ExplosionScheduler}, and their changes are applied to the world at once.
+     */
     public void trigger(Instance instance) {
-        this.apply(instance);
+        ExplosionScheduler.of(instance).submit(this);
     }
 
     public static class Builder {
@@ -297,6 +266,7 @@ public class VanillaExplosion extends Explosion {
         private boolean dropEverything = true;
         private boolean isFlaming = false;
         private boolean dontDestroyBlocks = false;
+        private boolean tnt = false;
 
         protected Builder(Point center, float strength) {
             this.center = center;
@@ -318,8 +288,17 @@ public class VanillaExplosion extends Explosion {
             return this;
         }
 
+        /**
+         * Marks this explosion as caused by TNT, whose drops decay according to
+         * {@link GameRule#TNT_EXPLOSION_DROP_DECAY} rather than {@link #dropEverything(boolean)}.
+         */
+        public Builder tnt(boolean tnt) {
+            this.tnt = tnt;
+            return this;
+        }
+
         public VanillaExplosion build() {
-            return new VanillaExplosion(center, strength, dropEverything, isFlaming, dontDestroyBlocks);
+            return new VanillaExplosion(center, strength, dropEverything, isFlaming, dontDestroyBlocks, tnt);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package net.minestom.vanilla.loot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.ItemEntity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.utils.time.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * The loot tables of blocks, read once from {@code mojang-data} while the server starts, and compiled into an
+ * immutable {@link LootTable} per block state.
+ * <p>
+ * Blocks whose table depends on their state properties (e.g. crops and their age) get a table per state, the others
+ * share one table between all their states. Lookups are a single array read.
+ * </p>
+ */
+public final class BlockLootTables {
+
+    private static final LootTable[] EMPTY = new LootTable[0];
+
+    private static volatile LootTable[] tables = EMPTY;
+
+    private BlockLootTables() {
+    }
+
+    /**
+     * Loads the block loot tables from this directory, replacing any previously loaded tables.
+     *
+     * @param directory the directory of the block loot tables, e.g. {@code mojang-data/loot_tables/blocks}
+     */
+    public static void load(@NotNull Path directory) {
+        if (!Files.isDirectory(directory)) {
+            Logger.warn("No block loot tables found in {}, blocks will not drop items", directory);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Gson gson = new Gson();
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                maxStateId = Math.max(maxStateId, state.stateId());
+            }
+        }
+
+        LootTable[] loaded = new LootTable[maxStateId + 1];
+        int count = 0;
+        for (Block block : Block.values()) {
+            Path file = directory.resolve(block.namespace().path() + ".json");
+            if (!Files.isRegularFile(file)) continue;
+
+            String content;
+            try {
+                content = Files.readString(file);
+            } catch (IOException e) {
+                Logger.error(e, "Failed to read the loot table {}", file);
+                continue;
+            }
+            JsonObject json;
+            try {
+                json = gson.fromJson(content, JsonObject.class);
+            } catch (RuntimeException e) {
+                Logger.error(e, "Failed to parse the loot table {}", file);
+                continue;
+            }
+
+            try {
+                LootTableReader.readStates(json, block, (state, table) -> loaded[state.stateId()] = table);
+                count++;
+            } catch (RuntimeException e) {
+                Logger.error(e, "Failed to compile the loot table {}", file);
+            }
+        }
+
+        tables = loaded;
+        Logger.info("Loaded {} block loot tables in {}ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return the loot table of this block state, an empty table if it has none
+     */
+    public static @NotNull LootTable get(@NotNull Block block) {
+        LootTable[] tables = BlockLootTables.tables;
+        int stateId = block.stateId();
+        if (stateId < 0 || stateId >= tables.length) return LootTable.EMPTY;
+        LootTable table = tables[stateId];
+        return table == null ? LootTable.EMPTY : table;
+    }
+
+    /**
+     * Rolls the loot table of this block state.
+     *
+     * @param block    the block state
+     * @param context  the context
+     * @param consumer the consumer of the generated stacks
+     */
+    public static void drops(@NotNull Block block, @NotNull LootContext context, @NotNull Consumer<ItemStack> consumer) {
+        get(block).generate(context, consumer);
+    }
+
+    /**
+     * @return the stacks generated by rolling the loot table of this block state
+     */
+    public static @NotNull List<ItemStack> drops(@NotNull Block block, @NotNull LootContext context) {
+        return get(block).generate(context);
+    }
+
+    /**
+     * Spawns the drops of this block state at this position, as vanilla does when a block is broken.
+     *
+     * @param instance the instance
+     * @param position the position of the block
+     * @param block    the block state
+     * @param context  the context
+     */
+    public static void spawnDrops(@NotNull Instance instance, @NotNull Point position, @NotNull Block block,
+                                  @NotNull LootContext context) {
+        drops(block, context, stack -> spawn(instance, position, stack, context.random()));
+    }
+
+    /**
+     * Spawns a stack at a random spot within this block position, with the vanilla pickup delay.
+     */
+    public static void spawn(@NotNull Instance instance, @NotNull Point position, @NotNull ItemStack stack,
+                             @NotNull Random random) {
+        ItemEntity itemEntity = new ItemEntity(stack);
+        itemEntity.setPickupDelay(10, TimeUnit.SERVER_TICK);
+        itemEntity.setInstance(instance, new Pos(
+                position.blockX() + 0.25 + random.nextDouble() * 0.5,
+                position.blockY() + 0.25 + random.nextDouble() * 0.5,
+                position.blockZ() + 0.25 + random.nextDouble() * 0.5));
+    }
+}
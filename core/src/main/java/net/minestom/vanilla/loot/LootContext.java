@@ -0,0 +1,38 @@
+package net.minestom.vanilla.loot;
+
+import net.minestom.server.item.Enchantment;
+import net.minestom.server.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * The parameters a loot table is evaluated with.
+ *
+ * @param random          the random used by the rolls, conditions and functions
+ * @param tool            the item the block was broken with, {@link ItemStack#AIR} if none
+ * @param explosionRadius the radius of the explosion that destroyed the block, 0 if it was not destroyed by an
+ *                        explosion or if the explosion does not decay its drops
+ */
+public record LootContext(@NotNull Random random, @NotNull ItemStack tool, float explosionRadius) {
+
+    public static @NotNull LootContext tool(@NotNull Random random, @NotNull ItemStack tool) {
+        return new LootContext(random, tool, 0);
+    }
+
+    public static @NotNull LootContext explosion(@NotNull Random random, float explosionRadius) {
+        return new LootContext(random, ItemStack.AIR, explosionRadius);
+    }
+
+    public static @NotNull LootContext empty(@NotNull Random random) {
+        return new LootContext(random, ItemStack.AIR, 0);
+    }
+
+    /**
+     * @return the level of this enchantment on the tool, 0 if it is not enchanted with it
+     */
+    int enchantmentLevel(@NotNull Enchantment enchantment) {
+        Short level = tool.meta().getEnchantmentMap().get(enchantment);
+        return level == null ? 0 : level;
+    }
+}
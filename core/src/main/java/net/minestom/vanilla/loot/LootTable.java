@@ -0,0 +1,175 @@
+package net.minestom.vanilla.loot;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, compiled loot table. Evaluating it does not touch the json it was read from, and can happen from any
+ * thread as long as the {@link LootContext#random() random} is not shared.
+ */
+public final class LootTable {
+
+    static final LootTable EMPTY = new LootTable(new Pool[0], new Function[0]);
+
+    private final Pool[] pools;
+    private final Function[] functions;
+
+    LootTable(@NotNull Pool[] pools, @NotNull Function[] functions) {
+        this.pools = pools;
+        this.functions = functions;
+    }
+
+    /**
+     * Rolls this table, passing each generated stack to the consumer. Stacks never exceed their max stack size.
+     *
+     * @param context  the context
+     * @param consumer the consumer
+     */
+    public void generate(@NotNull LootContext context, @NotNull Consumer<ItemStack> consumer) {
+        for (Pool pool : pools) {
+            if (!Condition.all(pool.conditions(), context)) continue;
+            int rolls = pool.rolls().get(context);
+            for (int i = 0; i < rolls; i++) {
+                ItemEntry entry = pool.choose(context);
+                if (entry == null) continue;
+                int count = Function.apply(entry.functions(), 1, context);
+                count = Function.apply(pool.functions(), count, context);
+                count = Function.apply(functions, count, context);
+                split(entry.material(), count, consumer);
+            }
+        }
+    }
+
+    /**
+     * @return the stacks generated by rolling this table
+     * @see #generate(LootContext, Consumer)
+     */
+    public @NotNull List<ItemStack> generate(@NotNull LootContext context) {
+        List<ItemStack> stacks = new ArrayList<>();
+        generate(context, stacks::add);
+        return stacks;
+    }
+
+    private static void split(Material material, int count, Consumer<ItemStack> consumer) {
+        int maxStackSize = material.maxStackSize();
+        while (count > 0) {
+            int amount = Math.min(count, maxStackSize);
+            consumer.accept(ItemStack.of(material, amount));
+            count -= amount;
+        }
+    }
+
+    /**
+     * A number provider, e.g. a constant or a uniform distribution.
+     */
+    interface NumberProvider {
+        int get(@NotNull LootContext context);
+
+        float getFloat(@NotNull LootContext context);
+    }
+
+    interface Condition {
+        Condition TRUE = context -> true;
+        Condition FALSE = context -> false;
+
+        boolean test(@NotNull LootContext context);
+
+        static boolean all(Condition[] conditions, LootContext context) {
+            for (Condition condition : conditions) {
+                if (!condition.test(context)) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A function modifying the count of the generated stack.
+     */
+    interface Function {
+        int apply(int count, @NotNull LootContext context);
+
+        static int apply(Function[] functions, int count, LootContext context) {
+            for (Function function : functions) {
+                if (count <= 0) return 0;
+                count = function.apply(count, context);
+            }
+            return count;
+        }
+    }
+
+    interface Entry {
+        /**
+         * Adds the items entries this entry expands to, if its conditions pass.
+         *
+         * @return true if the conditions of this entry passed
+         */
+        boolean expand(@NotNull LootContext context, @NotNull List<ItemEntry> entries);
+    }
+
+    /**
+     * A leaf entry, {@code material} is null for empty entries.
+     */
+    record ItemEntry(Material material, int weight, Condition[] conditions,
+                     Function[] functions) implements Entry {
+        @Override
+        public boolean expand(@NotNull LootContext context, @NotNull List<ItemEntry> entries) {
+            if (!Condition.all(conditions, context)) return false;
+            entries.add(this);
+            return true;
+        }
+    }
+
+    /**
+     * An entry with children, expanding the first child that passes, all of them, or all of them until one fails.
+     */
+    record CompositeEntry(Kind kind, Condition[] conditions, Entry[] children) implements Entry {
+        enum Kind {ALTERNATIVES, GROUP, SEQUENCE}
+
+        @Override
+        public boolean expand(@NotNull LootContext context, @NotNull List<ItemEntry> entries) {
+            if (!Condition.all(conditions, context)) return false;
+            for (Entry child : children) {
+                boolean passed = child.expand(context, entries);
+                if (kind == Kind.ALTERNATIVES && passed) return true;
+                if (kind == Kind.SEQUENCE && !passed) return false;
+            }
+            return kind != Kind.ALTERNATIVES;
+        }
+    }
+
+    record Pool(NumberProvider rolls, Condition[] conditions, Entry[] entries, Function[] functions) {
+
+        /**
+         * @return the item entry picked by weight among the expanded entries, or null if there are none, or if the
+         * picked entry is empty
+         */
+        ItemEntry choose(LootContext context) {
+            List<ItemEntry> candidates = new ArrayList<>(2);
+            for (Entry entry : entries) {
+                entry.expand(context, candidates);
+            }
+            if (candidates.isEmpty()) return null;
+
+            ItemEntry chosen = candidates.get(0);
+            if (candidates.size() > 1) {
+                int totalWeight = 0;
+                for (ItemEntry candidate : candidates) totalWeight += candidate.weight();
+                if (totalWeight <= 0) return null;
+                int roll = context.random().nextInt(totalWeight);
+                for (ItemEntry candidate : candidates) {
+                    roll -= candidate.weight();
+                    if (roll < 0) {
+                        chosen = candidate;
+                        break;
+                    }
+                }
+            }
+            return chosen.material() == null ? null : chosen;
+        }
+    }
+}
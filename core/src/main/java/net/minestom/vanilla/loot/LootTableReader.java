@@ -0,0 +1,381 @@
+package net.minestom.vanilla.loot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.gamedata.tags.Tag;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Enchantment;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.loot.LootTable.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Compiles the json of a block loot table for one block state.
+ * <p>
+ * {@code block_state_property} conditions are resolved while compiling, against the state the table is compiled
+ * for. Conditions, entries and functions that only make sense outside of block drops, or that do not change the item
+ * count, are treated as never passing, empty and doing nothing respectively.
+ * </p>
+ */
+final class LootTableReader {
+
+    private final Block state;
+    // Whether the table has a block_state_property condition, and so depends on the state it is compiled for
+    private boolean readsState;
+
+    private LootTableReader(@NotNull Block state) {
+        this.state = state;
+    }
+
+    static @NotNull LootTable read(@NotNull JsonObject json, @NotNull Block state) {
+        return new LootTableReader(state).table(json);
+    }
+
+    /**
+     * Compiles the json of a block loot table for every state of this block. The table is compiled once, then once
+     * per state only if it resolved a {@code block_state_property} condition.
+     *
+     * @param json     the json of the loot table
+     * @param block    the block
+     * @param consumer the consumer of each state and its table
+     */
+    static void readStates(@NotNull JsonObject json, @NotNull Block block,
+                           @NotNull BiConsumer<Block, LootTable> consumer) {
+        LootTableReader reader = new LootTableReader(block);
+        LootTable table = reader.table(json);
+        for (Block state : block.possibleStates()) {
+            consumer.accept(state, reader.readsState ? read(json, state) : table);
+        }
+    }
+
+    private LootTable table(JsonObject json) {
+        JsonArray pools = array(json, "pools");
+        Pool[] compiled = new Pool[pools.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            JsonObject pool = pools.get(i).getAsJsonObject();
+            compiled[i] = new Pool(number(pool.get("rolls")), conditions(pool), entries(array(pool, "entries")),
+                    functions(pool));
+        }
+        return new LootTable(compiled, functions(json));
+    }
+
+    // Entries
+
+    private Entry[] entries(JsonArray array) {
+        Entry[] entries = new Entry[array.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = entry(array.get(i).getAsJsonObject());
+        }
+        return entries;
+    }
+
+    private Entry entry(JsonObject json) {
+        Condition[] conditions = conditions(json);
+        int weight = json.has("weight") ? json.get("weight").getAsInt() : 1;
+        return switch (type(json, "type")) {
+            case "item" -> new ItemEntry(Material.fromNamespaceId(json.get("name").getAsString()), weight, conditions,
+                    functions(json));
+            case "alternatives" -> new CompositeEntry(CompositeEntry.Kind.ALTERNATIVES, conditions,
+                    entries(array(json, "children")));
+            case "group" -> new CompositeEntry(CompositeEntry.Kind.GROUP, conditions, entries(array(json, "children")));
+            case "sequence" -> new CompositeEntry(CompositeEntry.Kind.SEQUENCE, conditions,
+                    entries(array(json, "children")));
+            // Empty, and the tag, loot table and dynamic entries which block drops do not need
+            default -> new ItemEntry(null, weight, conditions, new Function[0]);
+        };
+    }
+
+    // Conditions
+
+    private Condition[] conditions(JsonObject json) {
+        JsonArray array = array(json, "conditions");
+        Condition[] conditions = new Condition[array.size()];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = condition(array.get(i).getAsJsonObject());
+        }
+        return conditions;
+    }
+
+    private Condition condition(JsonObject json) {
+        return switch (type(json, "condition")) {
+            case "survives_explosion" -> context -> context.explosionRadius() <= 0
+                    || context.random().nextFloat() <= 1 / context.explosionRadius();
+            case "random_chance" -> {
+                float chance = json.get("chance").getAsFloat();
+                yield context -> context.random().nextFloat() < chance;
+            }
+            case "table_bonus" -> {
+                Enchantment enchantment = Enchantment.fromNamespaceId(json.get("enchantment").getAsString());
+                JsonArray array = array(json, "chances");
+                float[] chances = new float[array.size()];
+                for (int i = 0; i < chances.length; i++) chances[i] = array.get(i).getAsFloat();
+                yield context -> {
+                    int level = enchantment == null ? 0 : context.enchantmentLevel(enchantment);
+                    return context.random().nextFloat() < chances[Math.min(level, chances.length - 1)];
+                };
+            }
+            case "block_state_property" -> {
+                readsState = true;
+                yield matchesState(json) ? Condition.TRUE : Condition.FALSE;
+            }
+            case "match_tool" -> matchTool(json.getAsJsonObject("predicate"));
+            case "inverted" -> {
+                Condition term = condition(json.getAsJsonObject("term"));
+                yield context -> !term.test(context);
+            }
+            case "alternative", "any_of" -> {
+                Condition[] terms = terms(json);
+                yield context -> {
+                    for (Condition term : terms) {
+                        if (term.test(context)) return true;
+                    }
+                    return false;
+                };
+            }
+            case "all_of" -> {
+                Condition[] terms = terms(json);
+                yield context -> Condition.all(terms, context);
+            }
+            // Entity, weather, location and other conditions, which block drops do not need
+            default -> Condition.FALSE;
+        };
+    }
+
+    private Condition[] terms(JsonObject json) {
+        JsonArray array = array(json, "terms");
+        Condition[] terms = new Condition[array.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = condition(array.get(i).getAsJsonObject());
+        }
+        return terms;
+    }
+
+    private boolean matchesState(JsonObject json) {
+        if (json.has("block") && !state.namespace().asString().equals(json.get("block").getAsString())) return false;
+        if (!json.has("properties")) return true;
+        for (Map.Entry<String, JsonElement> property : json.getAsJsonObject("properties").entrySet()) {
+            String value = state.getProperty(property.getKey());
+            if (value == null) return false;
+            JsonElement expected = property.getValue();
+            if (expected.isJsonPrimitive()) {
+                if (!value.equals(expected.getAsString())) return false;
+                continue;
+            }
+            // Range of integer values
+            JsonObject range = expected.getAsJsonObject();
+            int intValue;
+            try {
+                intValue = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (range.has("min") && intValue < range.get("min").getAsInt()) return false;
+            if (range.has("max") && intValue > range.get("max").getAsInt()) return false;
+        }
+        return true;
+    }
+
+    private Condition matchTool(@Nullable JsonObject predicate) {
+        if (predicate == null) return Condition.TRUE;
+
+        List<Material> items = new ArrayList<>();
+        for (JsonElement item : array(predicate, "items")) {
+            items.add(Material.fromNamespaceId(item.getAsString()));
+        }
+        Tag tag = predicate.has("tag") ? MinecraftServer.getTagManager()
+                .getTag(Tag.BasicType.ITEMS, predicate.get("tag").getAsString()) : null;
+        if (predicate.has("tag") && tag == null) return Condition.FALSE;
+
+        List<Enchantment> enchantments = new ArrayList<>();
+        List<int[]> levels = new ArrayList<>();
+        for (JsonElement element : array(predicate, "enchantments")) {
+            JsonObject enchantment = element.getAsJsonObject();
+            enchantments.add(Enchantment.fromNamespaceId(enchantment.get("enchantment").getAsString()));
+            JsonObject range = enchantment.getAsJsonObject("levels");
+            int min = range != null && range.has("min") ? range.get("min").getAsInt() : 1;
+            int max = range != null && range.has("max") ? range.get("max").getAsInt() : Integer.MAX_VALUE;
+            levels.add(new int[]{min, max});
+        }
+
+        return context -> {
+            Material material = context.tool().material();
+            if (!items.isEmpty() && !items.contains(material)) return false;
+            if (tag != null && !tag.contains(material.namespace())) return false;
+            for (int i = 0; i < enchantments.size(); i++) {
+                Enchantment enchantment = enchantments.get(i);
+                int level = enchantment == null ? 0 : context.enchantmentLevel(enchantment);
+                if (level < levels.get(i)[0] || level > levels.get(i)[1]) return false;
+            }
+            return true;
+        };
+    }
+
+    // Functions
+
+    private Function[] functions(JsonObject json) {
+        JsonArray array = array(json, "functions");
+        List<Function> functions = new ArrayList<>(array.size());
+        for (JsonElement element : array) {
+            Function function = function(element.getAsJsonObject());
+            if (function != null) functions.add(function);
+        }
+        return functions.toArray(Function[]::new);
+    }
+
+    private @Nullable Function function(JsonObject json) {
+        Function function = switch (type(json, "function")) {
+            case "set_count" -> {
+                NumberProvider count = number(json.get("count"));
+                boolean add = json.has("add") && json.get("add").getAsBoolean();
+                yield (current, context) -> add ? current + count.get(context) : count.get(context);
+            }
+            case "explosion_decay" -> (count, context) -> {
+                if (context.explosionRadius() <= 0) return count;
+                float chance = 1 / context.explosionRadius();
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    if (context.random().nextFloat() <= chance) kept++;
+                }
+                return kept;
+            };
+            case "limit_count" -> {
+                JsonObject limit = json.getAsJsonObject("limit");
+                int min = limit.has("min") ? limit.get("min").getAsInt() : 0;
+                int max = limit.has("max") ? limit.get("max").getAsInt() : Integer.MAX_VALUE;
+                yield (count, context) -> Math.max(min, Math.min(max, count));
+            }
+            case "apply_bonus" -> applyBonus(json);
+            // Functions that change the components of the item rather than its count
+            default -> null;
+        };
+        if (function == null) return null;
+
+        Condition[] conditions = conditions(json);
+        if (conditions.length == 0) return function;
+        return (count, context) -> Condition.all(conditions, context) ? function.apply(count, context) : count;
+    }
+
+    private @Nullable Function applyBonus(JsonObject json) {
+        Enchantment enchantment = Enchantment.fromNamespaceId(json.get("enchantment").getAsString());
+        if (enchantment == null) return null;
+        JsonObject parameters = json.getAsJsonObject("parameters");
+        return switch (type(json, "formula")) {
+            case "ore_drops" -> (count, context) -> {
+                int level = context.enchantmentLevel(enchantment);
+                if (level <= 0) return count;
+                int bonus = Math.max(context.random().nextInt(level + 2) - 1, 0);
+                return count * (bonus + 1);
+            };
+            case "uniform_bonus_count" -> {
+                int multiplier = parameters.get("bonusMultiplier").getAsInt();
+                yield (count, context) -> {
+                    int level = context.enchantmentLevel(enchantment);
+                    return level <= 0 ? count : count + context.random().nextInt(multiplier * level + 1);
+                };
+            }
+            case "binomial_with_bonus_count" -> {
+                int extra = parameters.get("extra").getAsInt();
+                float probability = parameters.get("probability").getAsFloat();
+                yield (count, context) -> {
+                    int trials = context.enchantmentLevel(enchantment) + extra;
+                    for (int i = 0; i < trials; i++) {
+                        if (context.random().nextFloat() < probability) count++;
+                    }
+                    return count;
+                };
+            }
+            default -> null;
+        };
+    }
+
+    // Numbers
+
+    private static NumberProvider number(@Nullable JsonElement json) {
+        if (json == null) return constant(1);
+        if (json.isJsonPrimitive()) return constant(json.getAsFloat());
+
+        JsonObject object = json.getAsJsonObject();
+        String type = object.has("type") ? type(object, "type") : "uniform";
+        return switch (type) {
+            case "constant" -> constant(object.get("value").getAsFloat());
+            case "uniform" -> {
+                NumberProvider min = number(object.get("min"));
+                NumberProvider max = number(object.get("max"));
+                yield new NumberProvider() {
+                    @Override
+                    public int get(@NotNull LootContext context) {
+                        int from = min.get(context);
+                        int to = max.get(context);
+                        return to <= from ? from : from + context.random().nextInt(to - from + 1);
+                    }
+
+                    @Override
+                    public float getFloat(@NotNull LootContext context) {
+                        float from = min.getFloat(context);
+                        return from + context.random().nextFloat() * (max.getFloat(context) - from);
+                    }
+                };
+            }
+            case "binomial" -> {
+                NumberProvider n = number(object.get("n"));
+                NumberProvider p = number(object.get("p"));
+                yield new NumberProvider() {
+                    @Override
+                    public int get(@NotNull LootContext context) {
+                        int trials = n.get(context);
+                        float probability = p.getFloat(context);
+                        int successes = 0;
+                        for (int i = 0; i < trials; i++) {
+                            if (context.random().nextFloat() < probability) successes++;
+                        }
+                        return successes;
+                    }
+
+                    @Override
+                    public float getFloat(@NotNull LootContext context) {
+                        return get(context);
+                    }
+                };
+            }
+            default -> constant(0);
+        };
+    }
+
+    private static NumberProvider constant(float value) {
+        int intValue = Math.round(value);
+        return new NumberProvider() {
+            @Override
+            public int get(@NotNull LootContext context) {
+                return intValue;
+            }
+
+            @Override
+            public float getFloat(@NotNull LootContext context) {
+                return value;
+            }
+        };
+    }
+
+    // Json helpers
+
+    private static JsonArray array(JsonObject json, String key) {
+        JsonElement element = json.get(key);
+        return element == null ? new JsonArray() : element.getAsJsonArray();
+    }
+
+    /**
+     * @return the value of this namespaced key, without the {@code minecraft:} namespace
+     */
+    private static String type(JsonObject json, String key) {
+        String type = json.get(key).getAsString();
+        return type.startsWith("minecraft:") ? type.substring("minecraft:".length()) : type;
+    }
+}
@@ -13,6 +13,7 @@ import net.minestom.server.network.packet.server.play.ParticlePacket;
 import net.minestom.server.particle.Particle;
 import net.minestom.server.particle.ParticleCreator;
 import net.minestom.vanilla.dimensions.VanillaDimensionTypes;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
@@ -168,7 +169,7 @@ public final class NetherPortal {
                 int x = minX + (d * xMul);
                 int z = minZ + (d * zMul);
 
-                instance.setBlock(x, y, z, block);
+                BlockChanges.setBlock(instance, x, y, z, block);
 
                 if (blockPositions != null) {
                     blockPositions.add(new Pos(x, y, z));
@@ -420,21 +421,36 @@ public final class NetherPortal {
 //        }
     }
 
-    public void generate(Instance instance) {
+    /**
+     * Generates this portal once the chunks around it are loaded, without blocking the caller.
+     *
+     * @return a future completed on the instance's tick thread, once the portal has been placed
+     */
+    public CompletableFuture<Void> generate(Instance instance) {
         generating = true;
         // NetherPortalBlockHandler portalBlock = (NetherPortalBlockHandler) Block.NETHER_PORTAL.handler();
 
-        loadAround(instance, frameTopLeftCorner).join();
-        loadAround(instance, frameBottomRightCorner).join();
-
-        createFrame(instance);
-
-        Block block = Block.NETHER_PORTAL; // .withTag(NetherPortalBlockHandler.RELATED_PORTAL_KEY, this.id());
-
-        replaceFrameContents(instance, false, block, null);
-
-        register(instance);
-        generating = false;
+        CompletableFuture<Void> generated = new CompletableFuture<>();
+        CompletableFuture.allOf(loadAround(instance, frameTopLeftCorner), loadAround(instance, frameBottomRightCorner))
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        generating = false;
+                        generated.completeExceptionally(throwable);
+                        return;
+                    }
+                    instance.scheduleNextTick(ignored2 -> {
+                        createFrame(instance);
+
+                        Block block = Block.NETHER_PORTAL; // .withTag(NetherPortalBlockHandler.RELATED_PORTAL_KEY, this.id());
+
+                        replaceFrameContents(instance, false, block, null);
+
+                        register(instance);
+                        generating = false;
+                        generated.complete(null);
+                    });
+                });
+        return generated;
     }
 
     /**
@@ -452,7 +468,7 @@ public final class NetherPortal {
             }
         }
 
-        return CompletableFuture.allOf(futures.elements());
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
     }
 
     private void createFrame(Instance instance) {
@@ -476,10 +492,10 @@ public final class NetherPortal {
             }
 
             // bottom
-            instance.setBlock(x, minY, z, Block.OBSIDIAN);
+            BlockChanges.setBlock(instance, x, minY, z, Block.OBSIDIAN);
 
             // top
-            instance.setBlock(x, maxY, z, Block.OBSIDIAN);
+            BlockChanges.setBlock(instance, x, maxY, z, Block.OBSIDIAN);
         }
 
         // left and right
@@ -488,7 +504,7 @@ public final class NetherPortal {
             int z = minZ;
 
             // left
-            instance.setBlock(x, minY + j, z, Block.OBSIDIAN);
+            BlockChanges.setBlock(instance, x, minY + j, z, Block.OBSIDIAN);
 
             if (axis == Axis.X) {
                 x += width - 1;
@@ -497,7 +513,7 @@ public final class NetherPortal {
             }
 
             // right
-            instance.setBlock(x, minY + j, z, Block.OBSIDIAN);
+            BlockChanges.setBlock(instance, x, minY + j, z, Block.OBSIDIAN);
         }
     }
 
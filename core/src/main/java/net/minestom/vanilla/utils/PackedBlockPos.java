@@ -0,0 +1,45 @@
+package net.minestom.vanilla.utils;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packs block positions into a single long, using the same layout as vanilla's {@code BlockPos#asLong}.
+ * <p>
+ * x and z use 26 bits each, y uses 12 bits.
+ * </p>
+ */
+public final class PackedBlockPos {
+
+    private PackedBlockPos() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+
+    public static long pack(@NotNull Point point) {
+        return pack(point.blockX(), point.blockY(), point.blockZ());
+    }
+
+    public static int x(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int y(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int z(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    public static long offset(long packed, int dx, int dy, int dz) {
+        return pack(x(packed) + dx, y(packed) + dy, z(packed) + dz);
+    }
+
+    public static @NotNull Vec toVec(long packed) {
+        return new Vec(x(packed), y(packed), z(packed));
+    }
+}
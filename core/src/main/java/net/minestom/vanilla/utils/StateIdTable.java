@@ -0,0 +1,85 @@
+package net.minestom.vanilla.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A dense table mapping block state ids to values, e.g. the logic to run for a block state.
+ * <p>
+ * Registrations are expected to happen while the server starts, they copy the table and publish the copy through a
+ * volatile field. Lookups are a single array read, without locking or hashing.
+ * </p>
+ *
+ * @param <T> the type of the values
+ */
+public final class StateIdTable<T> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] table = EMPTY;
+
+    /**
+     * Registers a value for this block state, replacing any previous value.
+     *
+     * @param stateId the block state id
+     * @param value   the value
+     */
+    public synchronized void register(short stateId, @NotNull T value) {
+        if (stateId < 0) throw new IllegalArgumentException("Invalid state id: " + stateId);
+        Object[] current = table;
+        Object[] copy = Arrays.copyOf(current, Math.max(current.length, stateId + 1));
+        copy[stateId] = value;
+        table = copy;
+    }
+
+    /**
+     * Registers a value for all these block states at once, replacing any previous value.
+     *
+     * @param stateIds the block state ids
+     * @param value    the value
+     */
+    public synchronized void registerAll(short @NotNull [] stateIds, @NotNull T value) {
+        if (stateIds.length == 0) return;
+        Object[] current = table;
+        int length = current.length;
+        for (short stateId : stateIds) {
+            if (stateId < 0) throw new IllegalArgumentException("Invalid state id: " + stateId);
+            length = Math.max(length, stateId + 1);
+        }
+        Object[] copy = Arrays.copyOf(current, length);
+        for (short stateId : stateIds) {
+            copy[stateId] = value;
+        }
+        table = copy;
+    }
+
+    /**
+     * Gets the value of this block state.
+     *
+     * @param stateId the block state id
+     * @return the value, or null if none is registered
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(int stateId) {
+        Object[] table = this.table;
+        if (stateId < 0 || stateId >= table.length) return null;
+        return (T) table[stateId];
+    }
+
+    /**
+     * @param stateId the block state id
+     * @return true if a value is registered for this block state
+     */
+    public boolean contains(int stateId) {
+        return get(stateId) != null;
+    }
+
+    /**
+     * @return true if no value has been registered
+     */
+    public boolean isEmpty() {
+        return table.length == 0;
+    }
+}
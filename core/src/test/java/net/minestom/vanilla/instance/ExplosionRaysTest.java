@@ -0,0 +1,120 @@
+package net.minestom.vanilla.instance;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ExplosionRaysTest {
+
+    // The test world spans 8x8 chunks and 8 sections vertically, centered on the origin
+    private static final int WORLD_SECTIONS = 4;
+
+    /**
+     * A world of air with scattered grass, which barely slows rays down, so that the strongest rays reach as far as
+     * they can.
+     */
+    private static final ExplosionSnapshot.SectionSource WORLD = (chunkX, sectionY, chunkZ) -> {
+        if (Math.abs(chunkX) > WORLD_SECTIONS || Math.abs(sectionY) > WORLD_SECTIONS
+                || Math.abs(chunkZ) > WORLD_SECTIONS) return null;
+        Palette palette = Palette.blocks();
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    if ((x + y * 3 + z * 5) % 11 == 0) palette.set(x, y, z, Block.GRASS.stateId());
+                }
+            }
+        }
+        return palette;
+    };
+
+    /**
+     * The same world with stone below y=0, which stops rays within a few blocks.
+     */
+    private static final ExplosionSnapshot.SectionSource TERRAIN = (chunkX, sectionY, chunkZ) -> {
+        Palette palette = WORLD.copy(chunkX, sectionY, chunkZ);
+        if (palette != null && sectionY < 0) palette.fill(Block.STONE.stateId());
+        return palette;
+    };
+
+    @ParameterizedTest
+    @ValueSource(floats = {4, 8, 16})
+    public void snapshotCoversEveryRay(float strength) {
+        // Right below a section corner, so that the rays cross section borders in every direction
+        double x = 15.9, y = 15.9, z = 15.9;
+        ExplosionSnapshot bounded = ExplosionSnapshot.capture(WORLD, x, y, z, ExplosionRays.reach(strength));
+        ExplosionSnapshot whole = ExplosionSnapshot.capture(WORLD, x, y, z, (WORLD_SECTIONS + 1) * 32);
+
+        LongSet fromBounded = new LongOpenHashSet();
+        LongSet fromWhole = new LongOpenHashSet();
+        ExplosionRays.cast(bounded, x, y, z, strength, new Random(42), fromBounded);
+        ExplosionRays.cast(whole, x, y, z, strength, new Random(42), fromWhole);
+
+        assertFalse(fromWhole.isEmpty());
+        assertEquals(fromWhole, fromBounded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {4, 8, 16})
+    public void tablesMatchRegistryCast(float strength) {
+        // On the stone floor
+        double x = 0.5, y = 0.5, z = 0.5;
+        ExplosionSnapshot snapshot = ExplosionSnapshot.capture(TERRAIN, x, y, z, ExplosionRays.reach(strength));
+
+        LongSet fromTables = new LongOpenHashSet();
+        ExplosionRays.cast(snapshot, x, y, z, strength, new Random(42), fromTables);
+
+        assertFalse(fromTables.isEmpty());
+        assertEquals(registryCast(snapshot, x, y, z, strength, new Random(42)), fromTables);
+    }
+
+    /**
+     * The vanilla ray march without any table, looking up every step in the snapshot and the block registry.
+     */
+    private static LongSet registryCast(ExplosionSnapshot snapshot, double centerX, double centerY, double centerZ,
+                                        float strength, Random random) {
+        LongSet positions = new LongOpenHashSet();
+        for (int i = 0; i < 16; i++) {
+            for (int j = 0; j < 16; j++) {
+                for (int k = 0; k < 16; k++) {
+                    if (i != 0 && i != 15 && j != 0 && j != 15 && k != 0 && k != 15) continue;
+                    double dx = i / 15.0 * 2 - 1;
+                    double dy = j / 15.0 * 2 - 1;
+                    double dz = k / 15.0 * 2 - 1;
+                    double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    float stepX = (float) (dx / length * 0.3f);
+                    float stepY = (float) (dy / length * 0.3f);
+                    float stepZ = (float) (dz / length * 0.3f);
+
+                    double x = centerX, y = centerY, z = centerZ;
+                    float intensity = strength * (0.7f + random.nextFloat() * 0.6f);
+                    for (; intensity > 0; intensity -= 0.22500001f) {
+                        int blockX = (int) Math.floor(x);
+                        int blockY = (int) Math.floor(y);
+                        int blockZ = (int) Math.floor(z);
+                        int stateId = snapshot.stateId(blockX, blockY, blockZ);
+                        if (stateId == ExplosionSnapshot.MISSING) break;
+
+                        Block block = Block.fromStateId((short) stateId);
+                        if (block != null && !block.isAir()) {
+                            intensity -= ((float) block.registry().explosionResistance() + 0.3f) * 0.3f;
+                            if (intensity > 0) positions.add(PackedBlockPos.pack(blockX, blockY, blockZ));
+                        }
+                        x += stepX;
+                        y += stepY;
+                        z += stepZ;
+                    }
+                }
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,176 @@
+package net.minestom.vanilla.loot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Enchantment;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rolls copies of the vanilla block loot tables, and checks the drop counts and rates they give.
+ */
+public class LootTableReaderTest {
+
+    private static final int ROLLS = 20_000;
+
+    private static final ItemStack PICKAXE = ItemStack.of(Material.DIAMOND_PICKAXE);
+    private static final ItemStack FORTUNE_PICKAXE = enchanted(Material.DIAMOND_PICKAXE, Enchantment.FORTUNE, 3);
+    private static final ItemStack SILK_TOUCH_PICKAXE = enchanted(Material.DIAMOND_PICKAXE, Enchantment.SILK_TOUCH, 1);
+
+    @Test
+    public void oreDropsOneItem() {
+        LootTable table = read("diamond_ore", Block.DIAMOND_ORE);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(List.of(ItemStack.of(Material.DIAMOND)), table.generate(LootContext.tool(random, PICKAXE)));
+        }
+    }
+
+    @Test
+    public void oreWithSilkTouchDropsItself() {
+        LootTable table = read("diamond_ore", Block.DIAMOND_ORE);
+        assertEquals(List.of(ItemStack.of(Material.DIAMOND_ORE)),
+                table.generate(LootContext.tool(new Random(42), SILK_TOUCH_PICKAXE)));
+    }
+
+    @Test
+    public void oreWithFortuneMultipliesDrops() {
+        LootTable table = read("diamond_ore", Block.DIAMOND_ORE);
+        Random random = new Random(42);
+        int total = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            int count = count(table.generate(LootContext.tool(random, FORTUNE_PICKAXE)), Material.DIAMOND);
+            assertTrue(count >= 1 && count <= 4, "Fortune III drops 1 to 4 diamonds, got " + count);
+            total += count;
+        }
+        // The ore_drops formula multiplies by 1, 1, 2, 3 or 4 with Fortune III, 2.2 on average
+        assertEquals(2.2, (double) total / ROLLS, 0.05);
+    }
+
+    @Test
+    public void explosionDecaysOreDrops() {
+        LootTable table = read("diamond_ore", Block.DIAMOND_ORE);
+        Random random = new Random(42);
+        int total = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            total += count(table.generate(LootContext.explosion(random, 4)), Material.DIAMOND);
+        }
+        // Each item survives an explosion of radius 4 with a chance of 1/4
+        assertEquals(0.25, (double) total / ROLLS, 0.02);
+    }
+
+    @Test
+    public void explosionWithoutDecayKeepsEveryDrop() {
+        LootTable table = read("diamond_ore", Block.DIAMOND_ORE);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, count(table.generate(LootContext.explosion(random, 0)), Material.DIAMOND));
+        }
+    }
+
+    @Test
+    public void leavesWithShearsDropThemselves() {
+        LootTable table = read("oak_leaves", Block.OAK_LEAVES);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(List.of(ItemStack.of(Material.OAK_LEAVES)),
+                    table.generate(LootContext.tool(random, ItemStack.of(Material.SHEARS))));
+        }
+    }
+
+    @Test
+    public void leavesDropSaplingsByTableBonus() {
+        LootTable table = read("oak_leaves", Block.OAK_LEAVES);
+        assertEquals(0.05, rate(table, ItemStack.AIR, Material.OAK_SAPLING), 0.006);
+        assertEquals(0.1, rate(table, enchanted(Material.DIAMOND_HOE, Enchantment.FORTUNE, 3), Material.OAK_SAPLING),
+                0.008);
+    }
+
+    @Test
+    public void leavesDropSticksByTableBonus() {
+        LootTable table = read("oak_leaves", Block.OAK_LEAVES);
+        assertEquals(0.02, rate(table, ItemStack.AIR, Material.STICK), 0.004);
+        // The stick chances have a fifth level, past the levels of Fortune
+        assertEquals(0.0333, rate(table, enchanted(Material.DIAMOND_HOE, Enchantment.FORTUNE, 3), Material.STICK),
+                0.005);
+    }
+
+    @Test
+    public void stateTablesAreCompiledPerStateOnlyWhenNeeded() {
+        Map<Block, LootTable> crops = new HashMap<>();
+        LootTableReader.readStates(json("""
+                {"pools": [{"rolls": 1, "entries": [{"type": "minecraft:item", "name": "minecraft:wheat",
+                  "conditions": [{"condition": "minecraft:block_state_property", "block": "minecraft:wheat",
+                    "properties": {"age": "7"}}]}]}]}
+                """), Block.WHEAT, crops::put);
+        assertEquals(Block.WHEAT.possibleStates().size(), crops.size());
+        Random random = new Random(42);
+        for (Map.Entry<Block, LootTable> entry : crops.entrySet()) {
+            int expected = "7".equals(entry.getKey().getProperty("age")) ? 1 : 0;
+            assertEquals(expected, count(entry.getValue().generate(LootContext.tool(random, ItemStack.AIR)),
+                    Material.WHEAT), entry.getKey().toString());
+        }
+
+        Map<Block, LootTable> stairs = new HashMap<>();
+        LootTableReader.readStates(json("""
+                {"pools": [{"rolls": 1, "entries": [{"type": "minecraft:item", "name": "minecraft:oak_stairs"}]}]}
+                """), Block.OAK_STAIRS, stairs::put);
+        assertEquals(Block.OAK_STAIRS.possibleStates().size(), stairs.size());
+        assertEquals(1, Set.copyOf(stairs.values()).size(), "a table without state conditions is shared");
+    }
+
+    /**
+     * @return the rate at which rolling the table with this tool drops at least one of this material
+     */
+    private static double rate(LootTable table, ItemStack tool, Material material) {
+        Random random = new Random(42);
+        int dropped = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            if (count(table.generate(LootContext.tool(random, tool)), material) > 0) dropped++;
+        }
+        return (double) dropped / ROLLS;
+    }
+
+    private static int count(List<ItemStack> stacks, Material material) {
+        int count = 0;
+        for (ItemStack stack : stacks) {
+            if (stack.material() == material) count += stack.amount();
+        }
+        return count;
+    }
+
+    private static ItemStack enchanted(Material material, Enchantment enchantment, int level) {
+        return ItemStack.builder(material).meta(meta -> meta.enchantment(enchantment, (short) level)).build();
+    }
+
+    private static JsonObject json(String json) {
+        return new Gson().fromJson(json, JsonObject.class);
+    }
+
+    private static LootTable read(String name, Block block) {
+        String path = "/loot_tables/blocks/" + name + ".json";
+        try (InputStream stream = LootTableReaderTest.class.getResourceAsStream(path)) {
+            assertNotNull(stream, path);
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                return LootTableReader.read(new Gson().fromJson(reader, JsonObject.class), block);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
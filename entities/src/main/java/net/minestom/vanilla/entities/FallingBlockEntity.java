@@ -3,13 +3,15 @@ package net.minestom.vanilla.entities;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
-import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.metadata.other.FallingBlockMeta;
 import net.minestom.server.instance.block.Block;
-import net.minestom.server.item.ItemStack;
-import net.minestom.server.item.Material;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.entitymeta.EntityTags;
+import net.minestom.vanilla.gamerule.GameRule;
+import net.minestom.vanilla.gamerule.GameRules;
+import net.minestom.vanilla.instance.BlockChanges;
+import net.minestom.vanilla.loot.BlockLootTables;
+import net.minestom.vanilla.loot.LootContext;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -47,17 +49,15 @@ public class FallingBlockEntity extends Entity {
         Block block = instance.getBlock(position);
 
         if (block.registry().isSolid()) {
-            // TODO: Better way to get block's loot
-            Material loot = block.registry().material();
-            if (loot != null) {
-                ItemEntity itemEntity = new ItemEntity(ItemStack.of(loot));
-                itemEntity.setInstance(instance, position);
+            // The falling block could not be placed, it breaks into its drops
+            if (GameRules.of(instance).getBoolean(GameRule.DO_TILE_DROPS)) {
+                BlockLootTables.spawnDrops(instance, position, toPlace, LootContext.empty(rng));
             }
             remove();
             return;
         }
 
-        instance.setBlock(position, toPlace);
+        BlockChanges.setBlock(instance, position, toPlace);
         remove();
     }
 }
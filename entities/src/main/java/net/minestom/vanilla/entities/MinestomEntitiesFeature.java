@@ -1,16 +1,43 @@
 package net.minestom.vanilla.entities;
 
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.entitymeta.EntityTags;
+import net.minestom.vanilla.instance.ExplosionPrimeTntEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Random;
+
 public class MinestomEntitiesFeature implements VanillaReimplementation.Feature {
+
+    private static final Random TNT_RANDOM = new Random();
+
     @Override
     public void hook(@NotNull VanillaReimplementation vri, @NotNull VanillaRegistry registry) {
         registry.register(EntityType.FALLING_BLOCK, FallingBlockEntity::new);
         registry.register(EntityType.TNT, PrimedTNTEntity::new);
+
+        vri.process().eventHandler().addListener(ExplosionPrimeTntEvent.class, event -> spawnPrimedTnt(vri, event));
+    }
+
+    private static void spawnPrimedTnt(@NotNull VanillaReimplementation vri, @NotNull ExplosionPrimeTntEvent event) {
+        Point blockPosition = event.getBlockPosition();
+        Pos position = new Pos(blockPosition.blockX() + 0.5, blockPosition.blockY(), blockPosition.blockZ() + 0.5);
+
+        VanillaRegistry.EntityContext context = vri.entityContext(EntityType.TNT, position,
+                writable -> writable.setTag(EntityTags.PrimedTnt.FUSE_TIME, event.getFuseTime()));
+        Entity primedTnt = vri.createEntityOrDummy(context);
+        primedTnt.setInstance(event.getInstance(), position);
+
+        // The spawn motion of vanilla primed TNT, in blocks per second, the next explosion pushes it further
+        double angle = TNT_RANDOM.nextDouble() * Math.PI * 2;
+        primedTnt.setVelocity(new Vec(-Math.sin(angle) * 0.02, 0.2, -Math.cos(angle) * 0.02).mul(20));
     }
 
     @Override
@@ -0,0 +1,83 @@
+package io.github.togar2.fluids;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.VanillaReimplementation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Floods a walled basin from a row of water sources along one of its sides, and runs the game ticks it takes for the
+ * water to fill it, with the block tick pass and the fluid engine hooked as on a real server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BasinFloodBenchmark {
+
+    // The basin spans SIZE x SIZE blocks from 0, 0, its floor is at FLOOR_Y
+    private static final int SIZE = 48;
+    private static final int FLOOR_Y = 40;
+    private static final int DEPTH = 2;
+
+    // Water sources spread one block per 5 ticks, with some margin for the flowing water to settle
+    private static final int TICKS = SIZE * 5 + 40;
+
+    private InstanceContainer instance;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MinecraftServer.init();
+        VanillaReimplementation.hook(MinecraftServer.process());
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(-64, FLOOR_Y, Block.STONE));
+        for (int chunkX = -1; chunkX <= SIZE >> 4; chunkX++) {
+            for (int chunkZ = -1; chunkZ <= SIZE >> 4; chunkZ++) {
+                instance.loadChunk(chunkX, chunkZ).join();
+            }
+        }
+
+        for (int i = -1; i <= SIZE; i++) {
+            for (int y = FLOOR_Y; y < FLOOR_Y + DEPTH; y++) {
+                instance.setBlock(i, y, -1, Block.STONE);
+                instance.setBlock(i, y, SIZE, Block.STONE);
+                instance.setBlock(-1, y, i, Block.STONE);
+                instance.setBlock(SIZE, y, i, Block.STONE);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void drain() {
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int y = FLOOR_Y; y < FLOOR_Y + DEPTH; y++) {
+                    instance.setBlock(x, y, z, Block.AIR);
+                }
+            }
+        }
+        // Run the ticks scheduled by the previous flood, they find no water left
+        tick(20);
+
+        for (int x = 0; x < SIZE; x++) {
+            instance.setBlock(x, FLOOR_Y, 0, Block.WATER);
+            MinestomFluids.update(instance, x, FLOOR_Y, 0);
+        }
+    }
+
+    @Benchmark
+    public void flood() {
+        tick(TICKS);
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            instance.tick(System.currentTimeMillis());
+        }
+    }
+}
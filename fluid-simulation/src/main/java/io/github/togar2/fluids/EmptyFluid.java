@@ -13,7 +13,7 @@ public class EmptyFluid extends Fluid {
     }
 
     @Override
-    protected boolean canBeReplacedWith(Instance instance, Point point, Fluid other, Direction direction) {
+    protected boolean canBeReplacedWith(Instance instance, int x, int y, int z, Fluid other, Direction direction) {
         return true;
     }
 
@@ -2,37 +2,55 @@ package io.github.togar2.fluids;
 
 import it.unimi.dsi.fastutil.shorts.Short2BooleanMap;
 import it.unimi.dsi.fastutil.shorts.Short2BooleanOpenHashMap;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
-import net.minestom.server.gamedata.tags.Tag;
-import net.minestom.server.gamedata.tags.TagManager;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.Material;
 import net.minestom.server.utils.Direction;
+import net.minestom.vanilla.utils.PackedBlockPos;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Arrays;
 
 public abstract class FlowableFluid extends Fluid {
 
+    private static final Direction[] HORIZONTAL = Direction.HORIZONTAL;
+    // The index in HORIZONTAL of the opposite of each direction
+    private static final int[] OPPOSITE = new int[HORIZONTAL.length];
+
+    static {
+        for (int i = 0; i < HORIZONTAL.length; i++) {
+            OPPOSITE[i] = Arrays.asList(HORIZONTAL).indexOf(HORIZONTAL[i].opposite());
+        }
+    }
+
+    // The fluid block for each level property value
+    private final Block[] levels = new Block[9];
+    private final ThreadLocal<FlowScratch> scratch = ThreadLocal.withInitial(FlowScratch::new);
+
     public FlowableFluid(Block defaultBlock, Material bucket) {
         super(defaultBlock, bucket);
+        for (int level = 0; level < levels.length; level++) {
+            levels[level] = defaultBlock.withProperty("level", String.valueOf(level));
+        }
     }
 
     @Override
     public void onTick(Instance instance, Point point, Block block) {
+        int x = point.blockX();
+        int y = point.blockY();
+        int z = point.blockZ();
         if (!isSource(block)) {
-            Block updated = getUpdatedState(instance, point, block);
+            Block updated = getUpdatedState(instance, x, y, z, block);
             if (MinestomFluids.get(updated).isEmpty()) {
                 block = updated;
-                instance.setBlock(point, Block.AIR);
+                setBlock(instance, x, y, z, Block.AIR);
             } else if (updated != block) {
                 block = updated;
-                instance.setBlock(point, updated);
+                setBlock(instance, x, y, z, updated);
             }
         }
-        tryFlow(instance, point, block);
+        tryFlow(instance, x, y, z, block);
     }
 
     @Override
@@ -40,53 +58,67 @@ public abstract class FlowableFluid extends Fluid {
         return getTickRate(instance);
     }
 
-    protected void tryFlow(Instance instance, Point point, Block block) {
+    protected void tryFlow(Instance instance, int x, int y, int z, Block block) {
         Fluid fluid = MinestomFluids.get(block);
         if (fluid.isEmpty()) return;
 
-        Point down = point.add(0, -1, 0);
-        Block downBlock = instance.getBlock(down);
-        Block updatedDownFluid = getUpdatedState(instance, down, downBlock);
-        if (canFlow(instance, point, block, Direction.DOWN, down, downBlock, updatedDownFluid)) {
-            flow(instance, down, downBlock, Direction.DOWN, updatedDownFluid);
-            if (getAdjacentSourceCount(instance, point) >= 3) {
-                flowSides(instance, point, block);
+        Block downBlock = instance.getBlock(x, y - 1, z);
+        Block updatedDownFluid = getUpdatedState(instance, x, y - 1, z, downBlock);
+        if (canFlow(instance, block, Direction.DOWN, x, y - 1, z, downBlock, updatedDownFluid)) {
+            flow(instance, x, y - 1, z, downBlock, Direction.DOWN, updatedDownFluid);
+            if (getAdjacentSourceCount(instance, x, y, z) >= 3) {
+                flowSides(instance, x, y, z, block);
             }
-        } else if (isSource(block) || !canFlowDown(instance, updatedDownFluid, point, block, down, downBlock)) {
-            flowSides(instance, point, block);
+        } else if (isSource(block) || !canFlowDown(updatedDownFluid, block, downBlock)) {
+            flowSides(instance, x, y, z, block);
         }
     }
 
     /**
      * Flows to the sides whenever possible, or to a hole if found
      */
-    private void flowSides(Instance instance, Point point, Block block) {
+    private void flowSides(Instance instance, int x, int y, int z, Block block) {
         int newLevel = getLevel(block) - getLevelDecreasePerBlock(instance);
         if (isFalling(block)) newLevel = 7;
         if (newLevel <= 0) return;
 
-        Map<Direction, Block> map = getSpread(instance, point, block);
-        for (Map.Entry<Direction, Block> entry : map.entrySet()) {
-            Direction direction = entry.getKey();
-            Block newBlock = entry.getValue();
-            Point offset = point.add(direction.normalX(), direction.normalY(), direction.normalZ());
-            Block currentBlock = instance.getBlock(offset);
-            if (!canFlow(instance, point, block, direction, offset, currentBlock, newBlock)) continue;
-            flow(instance, offset, currentBlock, direction, newBlock);
+        Block[] spread = getSpread(instance, x, y, z, block);
+        for (int i = 0; i < HORIZONTAL.length; i++) {
+            Block newBlock = spread[i];
+            if (newBlock == null) continue;
+            Direction direction = HORIZONTAL[i];
+            int offsetX = x + direction.normalX();
+            int offsetZ = z + direction.normalZ();
+            Block currentBlock = instance.getBlock(offsetX, y, offsetZ);
+            if (!canFlow(instance, block, direction, offsetX, y, offsetZ, currentBlock, newBlock)) continue;
+            flow(instance, offsetX, y, offsetZ, currentBlock, direction, newBlock);
         }
     }
 
     /**
      * Gets the updated state of a source block by taking into account its surrounding blocks.
+     * <p>
+     * The result is remembered for the rest of the game tick, until a block next to the position changes.
+     * </p>
      */
-    protected Block getUpdatedState(Instance instance, Point point, Block block) {
+    protected Block getUpdatedState(Instance instance, int x, int y, int z, Block block) {
+        UpdatedStates states = scratch(instance).states;
+        long pos = PackedBlockPos.pack(x, y, z);
+        Block updated = states.get(this, instance.getWorldAge(), pos);
+        if (updated == null) {
+            updated = computeUpdatedState(instance, x, y, z, block);
+            states.put(this, pos, updated);
+        }
+        return updated;
+    }
+
+    private Block computeUpdatedState(Instance instance, int x, int y, int z, Block block) {
         int highestLevel = 0;
         int stillCount = 0;
-        for (Direction direction : Direction.HORIZONTAL) {
-            Point directionPos = point.add(direction.normalX(), direction.normalY(), direction.normalZ());
-            Block directionBlock = instance.getBlock(directionPos);
+        for (Direction direction : HORIZONTAL) {
+            Block directionBlock = instance.getBlock(x + direction.normalX(), y, z + direction.normalZ());
             Fluid directionFluid = MinestomFluids.get(directionBlock);
-            if (directionFluid != this || !receivesFlow(direction, instance, point, block, directionPos, directionBlock))
+            if (directionFluid != this || !receivesFlow(direction, block, directionBlock))
                 continue;
 
             if (isSource(directionBlock)) {
@@ -98,17 +130,16 @@ public abstract class FlowableFluid extends Fluid {
         if (isInfinite() && stillCount >= 2) {
             // If there's 2 or more still fluid blocks around
             // and below is still or a solid block, make this block still
-            Block downBlock = instance.getBlock(point.add(0, -1, 0));
-            if (downBlock.isSolid() || isMatchingAndStill(downBlock)) {
+            Block downBlock = instance.getBlock(x, y - 1, z);
+            if (FluidStates.blocksFlow(downBlock) || isMatchingAndStill(downBlock)) {
                 return getSource(false);
             }
         }
 
-        Point above = point.add(0, 1, 0);
-        Block aboveBlock = instance.getBlock(above);
+        Block aboveBlock = instance.getBlock(x, y + 1, z);
         Fluid aboveFluid = MinestomFluids.get(aboveBlock);
         if (!aboveFluid.isEmpty() && aboveFluid == this
-                && receivesFlow(Direction.UP, instance, point, block, above, aboveBlock)) {
+                && receivesFlow(Direction.UP, block, aboveBlock)) {
             return getFlowing(8, true);
         }
 
@@ -117,119 +148,127 @@ public abstract class FlowableFluid extends Fluid {
         return getFlowing(newLevel, false);
     }
 
-    private boolean receivesFlow(Direction face, Instance instance, Point point,
-                                 Block block, Point fromPoint, Block fromBlock) {
+    private boolean receivesFlow(Direction face, Block block, Block fromBlock) {
         // Vanilla seems to check if the adjacent block shapes cover the same square, but this seems to work as well
         // (Might not work with some special blocks)
         // If there is anything wrong it is most likely this method :D
 
-        if (block.isLiquid()) {
+        if (FluidStates.isLiquid(block)) {
             if (face == Direction.UP) {
-                if (fromBlock.isLiquid()) return true;
-                return block.isSolid() || block.isAir();
+                if (FluidStates.isLiquid(fromBlock)) return true;
+                return FluidStates.blocksFlow(block) || block.isAir();
                 //return isSource(block) || getLevel(block) == 8;
             } else if (face == Direction.DOWN) {
-                if (fromBlock.isLiquid()) return true;
-                return fromBlock.isSolid() || fromBlock.isAir();
+                if (FluidStates.isLiquid(fromBlock)) return true;
+                return FluidStates.blocksFlow(fromBlock) || fromBlock.isAir();
                 //return isSource(fromBlock) || getLevel(fromBlock) == 8;
             } else {
                 return true;
             }
         } else {
             if (face == Direction.UP) {
-                return block.isSolid() || block.isAir();
+                return FluidStates.blocksFlow(block) || block.isAir();
             } else if (face == Direction.DOWN) {
-                return block.isSolid() || block.isAir();
+                return FluidStates.blocksFlow(block) || block.isAir();
             } else {
-                return block.isSolid() || block.isAir();
+                return FluidStates.blocksFlow(block) || block.isAir();
             }
         }
     }
 
     /**
-     * Creates a unique id based on the relation between point and point2
+     * Creates a unique id based on the horizontal offset from the original point
      */
-    private static short getID(Point point, Point point2) {
-        int i = (int) (point2.x() - point.x());
-        int j = (int) (point2.z() - point.z());
-        return (short) ((i + 128 & 0xFF) << 8 | j + 128 & 0xFF);
+    private static short getID(int offsetX, int offsetZ) {
+        return (short) ((offsetX + 128 & 0xFF) << 8 | offsetZ + 128 & 0xFF);
     }
 
     /**
-     * Returns a map with the directions the water can flow in and the block the water will become in that direction.
+     * Returns the blocks the water will become in each horizontal direction, indexed like {@link #HORIZONTAL}, or
+     * null for the directions it cannot flow in.
      * If a hole is found within {@code getHoleRadius()} blocks, the water will only flow in that direction.
      * A weight is used to determine which hole is the closest.
+     * <p>
+     * The returned array is reused by the next call on the same thread.
+     * </p>
      */
-    protected Map<Direction, Block> getSpread(Instance instance, Point point, Block block) {
-        int weight = 1000;
-        EnumMap<Direction, Block> map = new EnumMap<>(Direction.class);
-        Short2BooleanOpenHashMap holeMap = new Short2BooleanOpenHashMap();
-
-        for (Direction direction : Direction.HORIZONTAL) {
-            Point directionPoint = point.add(direction.normalX(), direction.normalY(), direction.normalZ());
-            Block directionBlock = instance.getBlock(directionPoint);
-            short id = FlowableFluid.getID(point, directionPoint);
+    protected Block[] getSpread(Instance instance, int x, int y, int z, Block block) {
+        FlowScratch scratch = scratch(instance);
+        Block[] spread = scratch.spread;
+        Short2BooleanOpenHashMap holeMap = scratch.holes;
+        Arrays.fill(spread, null);
+        holeMap.clear();
 
-            Block updatedBlock = getUpdatedState(instance, directionPoint, directionBlock);
-            if (!canFlowThrough(instance, updatedBlock, point, block, direction, directionPoint, directionBlock))
+        int weight = 1000;
+        for (int i = 0; i < HORIZONTAL.length; i++) {
+            Direction direction = HORIZONTAL[i];
+            int directionX = x + direction.normalX();
+            int directionZ = z + direction.normalZ();
+            Block directionBlock = instance.getBlock(directionX, y, directionZ);
+            short id = FlowableFluid.getID(directionX - x, directionZ - z);
+
+            Block updatedBlock = getUpdatedState(instance, directionX, y, directionZ, directionBlock);
+            if (!canFlowThrough(updatedBlock, block, direction, directionBlock))
                 continue;
 
-            boolean down = holeMap.computeIfAbsent(id, s -> {
-                Point downPoint = directionPoint.add(0, -1, 0);
-                return canFlowDown(
-                        instance, getFlowing(getLevel(updatedBlock), false),
-                        directionPoint, directionBlock, downPoint, instance.getBlock(downPoint)
-                );
-            });
+            boolean down;
+            if (holeMap.containsKey(id)) {
+                down = holeMap.get(id);
+            } else {
+                down = canFlowDown(getFlowing(getLevel(updatedBlock), false),
+                        directionBlock, instance.getBlock(directionX, y - 1, directionZ));
+                holeMap.put(id, down);
+            }
 
-            int newWeight = down ? 0 : getWeight(instance, directionPoint, 1,
-                    direction.opposite(), directionBlock, point, holeMap);
-            if (newWeight < weight) map.clear();
+            int newWeight = down ? 0 : getWeight(instance, directionX, y, directionZ, 1,
+                    OPPOSITE[i], directionBlock, x, z, holeMap);
+            if (newWeight < weight) Arrays.fill(spread, null);
 
             if (newWeight <= weight) {
-                map.put(direction, updatedBlock);
+                spread[i] = updatedBlock;
                 weight = newWeight;
             }
         }
-        return map;
+        return spread;
     }
 
-    protected int getWeight(Instance instance, Point point, int initialWeight, Direction skipCheck,
-                            Block block, Point originalPoint, Short2BooleanMap short2BooleanMap) {
+    protected int getWeight(Instance instance, int x, int y, int z, int initialWeight, int skipCheck,
+                            Block block, int originalX, int originalZ, Short2BooleanMap short2BooleanMap) {
         int weight = 1000;
-        for (Direction direction : Direction.HORIZONTAL) {
-            if (direction == skipCheck) continue;
-            Point directionPoint = point.add(direction.normalX(), direction.normalY(), direction.normalZ());
-            Block directionBlock = instance.getBlock(directionPoint);
-            short id = FlowableFluid.getID(originalPoint, directionPoint);
-
-            if (!canFlowThrough(instance, getFlowing(getLevel(block), false), point, block,
-                    direction, directionPoint, directionBlock)) continue;
-
-            boolean down = short2BooleanMap.computeIfAbsent(id, s -> {
-                Point downPoint = directionPoint.add(0, -1, 0);
-                Block downBlock = instance.getBlock(downPoint);
-                return canFlowDown(
-                        instance, getFlowing(getLevel(block), false),
-                        directionPoint, downBlock, downPoint, downBlock
-                );
-            });
+        Block flowing = getFlowing(getLevel(block), false);
+        for (int i = 0; i < HORIZONTAL.length; i++) {
+            if (i == skipCheck) continue;
+            Direction direction = HORIZONTAL[i];
+            int directionX = x + direction.normalX();
+            int directionZ = z + direction.normalZ();
+            Block directionBlock = instance.getBlock(directionX, y, directionZ);
+            short id = FlowableFluid.getID(directionX - originalX, directionZ - originalZ);
+
+            if (!canFlowThrough(flowing, block, direction, directionBlock)) continue;
+
+            boolean down;
+            if (short2BooleanMap.containsKey(id)) {
+                down = short2BooleanMap.get(id);
+            } else {
+                Block downBlock = instance.getBlock(directionX, y - 1, directionZ);
+                down = canFlowDown(flowing, downBlock, downBlock);
+                short2BooleanMap.put(id, down);
+            }
             if (down) return initialWeight;
 
             if (initialWeight < getHoleRadius(instance)) {
-                int newWeight = getWeight(instance, directionPoint, initialWeight + 1,
-                        direction.opposite(), directionBlock, originalPoint, short2BooleanMap);
+                int newWeight = getWeight(instance, directionX, y, directionZ, initialWeight + 1,
+                        OPPOSITE[i], directionBlock, originalX, originalZ, short2BooleanMap);
                 if (newWeight < weight) weight = newWeight;
             }
         }
         return weight;
     }
 
-    private int getAdjacentSourceCount(Instance instance, Point point) {
+    private int getAdjacentSourceCount(Instance instance, int x, int y, int z) {
         int i = 0;
-        for (Direction direction : Direction.HORIZONTAL) {
-            Point currentPoint = point.add(direction.normalX(), direction.normalY(), direction.normalZ());
-            Block block = instance.getBlock(currentPoint);
+        for (Direction direction : HORIZONTAL) {
+            Block block = instance.getBlock(x + direction.normalX(), y, z + direction.normalZ());
             if (!isMatchingAndStill(block)) continue;
             ++i;
         }
@@ -239,77 +278,95 @@ public abstract class FlowableFluid extends Fluid {
     /**
      * Returns whether the fluid can flow through a specific block
      */
-    private boolean canFill(Instance instance, Point point, Block block, Block flowing) {
-        //TODO check waterloggable
-        TagManager tags = MinecraftServer.getTagManager();
-        if (block.compare(Block.LADDER)
-                || block.compare(Block.SUGAR_CANE)
-                || block.compare(Block.BUBBLE_COLUMN)
-                || block.compare(Block.NETHER_PORTAL)
-                || block.compare(Block.END_PORTAL)
-                || block.compare(Block.END_GATEWAY)
-                || block.compare(Block.KELP)
-                || block.compare(Block.KELP_PLANT)
-                || block.compare(Block.SEAGRASS)
-                || block.compare(Block.TALL_SEAGRASS)
-                || block.compare(Block.SEA_PICKLE)
-                || tags.getTag(Tag.BasicType.BLOCKS, "minecraft:signs").contains(block.namespace())
-                || block.name().contains("door")
-                || block.name().contains("coral")) {
-            return false;
+    private boolean canFill(Block block, Block flowing) {
+        if (FluidStates.isWaterloggable(block)) {
+            // Only a source can waterlog a block
+            return canWaterlog() && isSource(flowing) && !FluidStates.isWaterlogged(block);
         }
-        return !block.isSolid();
+        return FluidStates.isFillable(block);
     }
 
-    private boolean canFlowDown(Instance instance, Block flowing, Point point,
-                                Block block, Point fromPoint, Block fromBlock) {
-        if (!this.receivesFlow(Direction.DOWN, instance, point, block, fromPoint, fromBlock)) return false;
+    private boolean canFlowDown(Block flowing, Block block, Block fromBlock) {
+        if (!this.receivesFlow(Direction.DOWN, block, fromBlock)) return false;
         if (MinestomFluids.get(fromBlock) == this) return true;
-        return this.canFill(instance, fromPoint, fromBlock, flowing);
+        return this.canFill(fromBlock, flowing);
     }
 
-    private boolean canFlowThrough(Instance instance, Block flowing, Point point, Block block,
-                                   Direction face, Point fromPoint, Block fromBlock) {
+    private boolean canFlowThrough(Block flowing, Block block, Direction face, Block fromBlock) {
         return !isMatchingAndStill(fromBlock)
-                && receivesFlow(face, instance, point, block, fromPoint, fromBlock)
-                && canFill(instance, fromPoint, fromBlock, flowing);
+                && receivesFlow(face, block, fromBlock)
+                && canFill(fromBlock, flowing);
     }
 
-    protected boolean canFlow(Instance instance, Point fluidPoint, Block flowingBlock,
-                              Direction flowDirection, Point flowTo, Block flowToBlock, Block newFlowing) {
-        return MinestomFluids.get(flowToBlock).canBeReplacedWith(instance, flowTo, MinestomFluids.get(newFlowing), flowDirection)
-                && receivesFlow(flowDirection, instance, fluidPoint, flowingBlock, flowTo, flowToBlock)
-                && canFill(instance, flowTo, flowToBlock, newFlowing);
+    protected boolean canFlow(Instance instance, Block flowingBlock, Direction flowDirection,
+                              int toX, int toY, int toZ, Block flowToBlock, Block newFlowing) {
+        return MinestomFluids.get(flowToBlock).canBeReplacedWith(instance, toX, toY, toZ, MinestomFluids.get(newFlowing), flowDirection)
+                && receivesFlow(flowDirection, flowingBlock, flowToBlock)
+                && canFill(flowToBlock, newFlowing);
     }
 
     /**
      * Sets the position to the new block, executing {@code onBreakingBlock()} before breaking any non-air block.
+     * Waterloggable blocks are waterlogged instead of being replaced.
      */
-    protected void flow(Instance instance, Point point, Block block, Direction direction, Block newBlock) {
-        //TODO waterloggable check
+    protected void flow(Instance instance, int x, int y, int z, Block block, Direction direction, Block newBlock) {
+        if (FluidStates.isWaterloggable(block)) {
+            if (canWaterlog() && isSource(newBlock)) {
+                setBlock(instance, x, y, z, FluidStates.withWaterlogged(block, true));
+            }
+            return;
+        }
+
         boolean cancel = false;
         if (!block.isAir()) {
-            if (!onBreakingBlock(instance, point, block))
+            if (!onBreakingBlock(instance, new Vec(x, y, z), block))
                 cancel = true;
         }
 
-        if (!cancel) instance.setBlock(point, newBlock);
+        if (!cancel) setBlock(instance, x, y, z, newBlock);
+    }
+
+    /**
+     * Sets a block changed by this fluid. The change is sent to players, and the neighbouring fluids are updated, once
+     * all the fluids have ticked.
+     */
+    protected void setBlock(Instance instance, int x, int y, int z, Block block) {
+        FluidChangeBatch.of(instance).setBlock(x, y, z, block);
     }
 
     private boolean isMatchingAndStill(Block block) {
         return MinestomFluids.get(block) == this && isSource(block);
     }
 
+    /**
+     * Gets the scratch buffers of this thread, pointing them to the updated states of this instance.
+     */
+    private FlowScratch scratch(Instance instance) {
+        FlowScratch scratch = this.scratch.get();
+        if (scratch.instance != instance) {
+            scratch.instance = instance;
+            scratch.states = UpdatedStates.of(instance);
+        }
+        return scratch;
+    }
+
     public Block getFlowing(int level, boolean falling) {
-        return defaultBlock.withProperty("level", String.valueOf(falling ? 8 : level));
+        return levels[falling ? 8 : level];
     }
 
     public Block getSource(boolean falling) {
-        return falling ? defaultBlock.withProperty("level", "8") : defaultBlock;
+        return falling ? levels[8] : defaultBlock;
     }
 
     protected abstract boolean isInfinite();
 
+    /**
+     * Returns whether this fluid can waterlog blocks
+     */
+    protected boolean canWaterlog() {
+        return false;
+    }
+
     protected abstract int getLevelDecreasePerBlock(Instance instance);
 
     protected abstract int getHoleRadius(Instance instance);
@@ -334,4 +391,14 @@ public abstract class FlowableFluid extends Fluid {
     public double getHeight(Block block) {
         return getLevel(block) / 9.0;
     }
+
+    /**
+     * Buffers reused by the flow search of a single thread, so that a fluid tick does not allocate.
+     */
+    private static final class FlowScratch {
+        private final Block[] spread = new Block[HORIZONTAL.length];
+        private final Short2BooleanOpenHashMap holes = new Short2BooleanOpenHashMap();
+        private Instance instance;
+        private UpdatedStates states;
+    }
 }
@@ -24,7 +24,7 @@ public abstract class Fluid {
         return bucket;
     }
 
-    protected abstract boolean canBeReplacedWith(Instance instance, Point point,
+    protected abstract boolean canBeReplacedWith(Instance instance, int x, int y, int z,
                                                  Fluid other, Direction direction);
 
     public abstract int getNextTickDelay(Instance instance, Point point, Block block);
@@ -43,21 +43,17 @@ public abstract class Fluid {
     public abstract double getHeight(Block block);
 
     public static boolean isSource(Block block) {
-        String levelStr = block.getProperty("level");
-        return levelStr == null || Integer.parseInt(levelStr) == 0;
+        return !FluidStates.hasLevel(block) || FluidStates.level(block) == 0;
     }
 
     public static int getLevel(Block block) {
-        String levelStr = block.getProperty("level");
-        if (levelStr == null) return 8;
-        int level = Integer.parseInt(levelStr);
+        if (!FluidStates.hasLevel(block)) return 8;
+        int level = FluidStates.level(block);
         if (level == 0) return 8; // Source block
         return level;
     }
 
     public static boolean isFalling(Block block) {
-        String levelStr = block.getProperty("level");
-        if (levelStr == null) return false;
-        return Integer.parseInt(levelStr) >= 8;
+        return FluidStates.hasLevel(block) && FluidStates.level(block) >= 8;
     }
 }
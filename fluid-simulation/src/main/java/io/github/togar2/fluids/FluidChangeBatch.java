@@ -0,0 +1,75 @@
+package io.github.togar2.fluids;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateInfo;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
+import net.minestom.vanilla.instance.BlockChangeBatch;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Collects the blocks changed by fluids during a tick.
+ * <p>
+ * Changes are written to their chunk right away through the shared block change path, so that fluids ticking later in
+ * the same tick see them and block handlers are called, but sending them to players and updating the neighbours waits
+ * until all the scheduled ticks have run. Players then receive one multi block change packet per changed section, and
+ * the block update system updates each neighbour once.
+ * </p>
+ */
+class FluidChangeBatch {
+
+    private static final Map<Instance, FluidChangeBatch> instance2Batch = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static @NotNull FluidChangeBatch of(@NotNull Instance instance) {
+        return instance2Batch.computeIfAbsent(instance, FluidChangeBatch::new);
+    }
+
+    private final Instance instance;
+    private final BlockChangeBatch packets;
+    private final LongLinkedOpenHashSet changed = new LongLinkedOpenHashSet();
+    private boolean flushScheduled = false;
+
+    private FluidChangeBatch(@NotNull Instance instance) {
+        this.instance = instance;
+        this.packets = new BlockChangeBatch(instance);
+    }
+
+    /**
+     * Sets a block, sending the change at the end of the tick.
+     */
+    void setBlock(int x, int y, int z, @NotNull Block block) {
+        if (!packets.setBlock(x, y, z, block)) return;
+        changed.add(PackedBlockPos.pack(x, y, z));
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ScheduledTickManager.from(instance).runAfterTicks(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+
+        packets.send();
+
+        // Update each changed fluid, its neighbours are updated by the block update system later in this tick
+        BlockUpdateManager blockUpdateManager = BlockUpdateManager.from(instance);
+        for (LongIterator iterator = changed.iterator(); iterator.hasNext(); ) {
+            long pos = iterator.nextLong();
+            int x = PackedBlockPos.x(pos);
+            int y = PackedBlockPos.y(pos);
+            int z = PackedBlockPos.z(pos);
+            MinestomFluids.update(instance, x, y, z);
+            blockUpdateManager.scheduleNeighborsUpdate(x, y, z, BlockUpdateInfo.PLACE_BLOCK());
+        }
+        changed.clear();
+    }
+}
@@ -17,6 +17,11 @@ public class FluidPlacementRule extends BlockPlacementRule {
     @Override
     public @NotNull Block blockUpdate(@NotNull Instance instance, @NotNull Point blockPosition,
                                       @NotNull Block currentBlock) {
+        if (MinestomFluids.get(currentBlock) instanceof LavaFluid lava) {
+            Block hardened = lava.getInteraction(instance, blockPosition.blockX(), blockPosition.blockY(),
+                    blockPosition.blockZ(), currentBlock);
+            if (hardened != null) return hardened;
+        }
         MinestomFluids.scheduleTick(instance, blockPosition, currentBlock);
         return currentBlock;
     }
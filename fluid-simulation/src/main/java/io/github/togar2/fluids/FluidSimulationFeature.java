@@ -9,7 +9,6 @@ public class FluidSimulationFeature implements VanillaReimplementation.Feature {
 
     @Override
     public void hook(@NotNull VanillaReimplementation vri, @NotNull VanillaRegistry registry) {
-        // TODO: Use the block-update-system
         MinestomFluids.init(vri.process());
     }
 
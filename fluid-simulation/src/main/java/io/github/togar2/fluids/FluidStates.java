@@ -0,0 +1,190 @@
+package io.github.togar2.fluids;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.gamedata.tags.Tag;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * The fluid related properties of every block state, packed into a table indexed by state id.
+ * <p>
+ * The table is built once, the first time it is used, so that the fluid engine never compares blocks, looks up tags
+ * or parses properties while fluids flow.
+ * </p>
+ */
+public final class FluidStates {
+
+    public static final int TYPE_NONE = 0;
+    public static final int TYPE_WATER = 1;
+    public static final int TYPE_LAVA = 2;
+
+    private static final int TYPE_MASK = 0b11;
+    private static final int FILLABLE = 1 << 2;
+    private static final int WATERLOGGABLE = 1 << 3;
+    private static final int BLOCKS_FLOW = 1 << 4;
+    private static final int LIQUID = 1 << 5;
+    private static final int HAS_LEVEL = 1 << 6;
+    private static final int WATERLOGGED = 1 << 7;
+    private static final int LEVEL_SHIFT = 8;
+    private static final int LEVEL_MASK = 0xF;
+
+    // Blocks that fluids cannot flow into, even though they are not solid
+    private static final Set<Block> NOT_FILLABLE = Set.of(
+            Block.LADDER,
+            Block.SUGAR_CANE,
+            Block.BUBBLE_COLUMN,
+            Block.NETHER_PORTAL,
+            Block.END_PORTAL,
+            Block.END_GATEWAY,
+            Block.KELP,
+            Block.KELP_PLANT,
+            Block.SEAGRASS,
+            Block.TALL_SEAGRASS,
+            Block.SEA_PICKLE
+    );
+
+    // Blocks that always hold a water source, without a waterlogged property
+    private static final Set<Block> ALWAYS_WATER = Set.of(
+            Block.BUBBLE_COLUMN,
+            Block.KELP,
+            Block.KELP_PLANT,
+            Block.SEAGRASS,
+            Block.TALL_SEAGRASS
+    );
+
+    private static final int[] TABLE;
+    // The state id of each waterloggable state with its waterlogged property flipped
+    private static final short[] WATERLOG_TOGGLE;
+
+    static {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                maxStateId = Math.max(maxStateId, state.stateId());
+            }
+        }
+        TABLE = new int[maxStateId + 1];
+        WATERLOG_TOGGLE = new short[maxStateId + 1];
+        fillTables();
+    }
+
+    private FluidStates() {
+    }
+
+    /**
+     * @return the fluid type of this block, one of {@link #TYPE_NONE}, {@link #TYPE_WATER} and {@link #TYPE_LAVA},
+     * waterlogged blocks, kelp and seagrass being water
+     */
+    public static int type(@NotNull Block block) {
+        return TABLE[block.stateId()] & TYPE_MASK;
+    }
+
+    /**
+     * @return true if this block is water, lava, or holds water
+     */
+    public static boolean isFluid(@NotNull Block block) {
+        return type(block) != TYPE_NONE;
+    }
+
+    /**
+     * @return true if a fluid can flow into this block, replacing it. Waterloggable blocks are never replaced.
+     */
+    public static boolean isFillable(@NotNull Block block) {
+        return (TABLE[block.stateId()] & FILLABLE) != 0;
+    }
+
+    /**
+     * @return true if this block has a waterlogged property
+     */
+    public static boolean isWaterloggable(@NotNull Block block) {
+        return (TABLE[block.stateId()] & WATERLOGGABLE) != 0;
+    }
+
+    /**
+     * @return true if this block has its waterlogged property set
+     */
+    public static boolean isWaterlogged(@NotNull Block block) {
+        return (TABLE[block.stateId()] & WATERLOGGED) != 0;
+    }
+
+    /**
+     * Gets this waterloggable block with its waterlogged property set to the given value.
+     *
+     * @param block       a waterloggable block
+     * @param waterlogged the waterlogged value
+     * @return the updated block
+     */
+    public static @NotNull Block withWaterlogged(@NotNull Block block, boolean waterlogged) {
+        if (isWaterlogged(block) == waterlogged) return block;
+        if (block.hasNbt() || block.handler() != null) {
+            return block.withProperty("waterlogged", String.valueOf(waterlogged));
+        }
+        return Block.fromStateId(WATERLOG_TOGGLE[block.stateId()]);
+    }
+
+    /**
+     * @return true if this block is solid, stopping fluids from flowing through it
+     */
+    public static boolean blocksFlow(@NotNull Block block) {
+        return (TABLE[block.stateId()] & BLOCKS_FLOW) != 0;
+    }
+
+    /**
+     * @return true if this block is a liquid
+     */
+    public static boolean isLiquid(@NotNull Block block) {
+        return (TABLE[block.stateId()] & LIQUID) != 0;
+    }
+
+    /**
+     * @return true if this block has a level property
+     */
+    public static boolean hasLevel(@NotNull Block block) {
+        return (TABLE[block.stateId()] & HAS_LEVEL) != 0;
+    }
+
+    /**
+     * @return the value of the level property of this block, or 0 if it has none
+     */
+    public static int level(@NotNull Block block) {
+        return TABLE[block.stateId()] >> LEVEL_SHIFT & LEVEL_MASK;
+    }
+
+    private static void fillTables() {
+        Tag signs = MinecraftServer.getTagManager().getTag(Tag.BasicType.BLOCKS, "minecraft:signs");
+
+        for (Block block : Block.values()) {
+            boolean fillable = NOT_FILLABLE.stream().noneMatch(block::compare)
+                    && (signs == null || !signs.contains(block.namespace()))
+                    && !block.name().contains("door")
+                    && !block.name().contains("coral");
+            boolean alwaysWater = ALWAYS_WATER.stream().anyMatch(block::compare);
+
+            for (Block state : block.possibleStates()) {
+                int flags = 0;
+                if (state.compare(Block.WATER) || alwaysWater) flags |= TYPE_WATER;
+                else if (state.compare(Block.LAVA)) flags |= TYPE_LAVA;
+
+                String waterlogged = state.getProperty("waterlogged");
+                if (waterlogged != null) {
+                    flags |= WATERLOGGABLE;
+                    if (Boolean.parseBoolean(waterlogged)) flags |= WATERLOGGED | TYPE_WATER;
+                    WATERLOG_TOGGLE[state.stateId()] = state.withProperty("waterlogged",
+                            String.valueOf(!Boolean.parseBoolean(waterlogged))).stateId();
+                } else if (fillable && !state.isSolid()) {
+                    flags |= FILLABLE;
+                }
+                if (state.isSolid()) flags |= BLOCKS_FLOW;
+                if (state.isLiquid()) flags |= LIQUID;
+
+                String level = state.getProperty("level");
+                if (level != null) {
+                    flags |= HAS_LEVEL | (Integer.parseInt(level) & LEVEL_MASK) << LEVEL_SHIFT;
+                }
+                TABLE[state.stateId()] = flags;
+            }
+        }
+    }
+}
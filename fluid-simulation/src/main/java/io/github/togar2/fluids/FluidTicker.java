@@ -0,0 +1,43 @@
+package io.github.togar2.fluids;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdatable;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateInfo;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Connects a fluid to the block update system: neighbour updates schedule a fluid tick, and due fluid ticks run the
+ * fluid logic, whether the fluid is a fluid block or a waterlogged one.
+ */
+class FluidTicker implements BlockUpdatable, ScheduledTickable {
+
+    private final Fluid fluid;
+
+    FluidTicker(@NotNull Fluid fluid) {
+        this.fluid = fluid;
+    }
+
+    @Override
+    public void blockUpdate(@NotNull Instance instance, @NotNull Point pos, @NotNull BlockUpdateInfo info) {
+        MinestomFluids.update(instance, pos.blockX(), pos.blockY(), pos.blockZ());
+    }
+
+    @Override
+    public boolean updatesOnChunkLoad() {
+        // Vanilla does not tick fluids when their chunk loads, and oceans would flood the tick
+        return false;
+    }
+
+    @Override
+    public void scheduledTick(@NotNull ScheduledTick scheduledTick) {
+        MinestomFluids.tick(scheduledTick.instance(), scheduledTick.position());
+    }
+
+    @Override
+    public boolean canTick(@NotNull Block block, int scheduledBlockId) {
+        return MinestomFluids.get(block) == fluid;
+    }
+}
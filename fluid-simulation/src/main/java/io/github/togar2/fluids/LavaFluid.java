@@ -0,0 +1,111 @@
+package io.github.togar2.fluids;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Material;
+import net.minestom.server.utils.Direction;
+import org.jetbrains.annotations.Nullable;
+
+public class LavaFluid extends FlowableFluid {
+
+    // The directions in which lava touches other blocks to harden, the lava does not harden from water below it
+    private static final Direction[] INTERACTION_DIRECTIONS = {
+            Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST
+    };
+
+    public LavaFluid() {
+        super(Block.LAVA, Material.LAVA_BUCKET);
+    }
+
+    @Override
+    public void onTick(Instance instance, Point point, Block block) {
+        Block hardened = getInteraction(instance, point.blockX(), point.blockY(), point.blockZ(), block);
+        if (hardened != null) {
+            setBlock(instance, point.blockX(), point.blockY(), point.blockZ(), hardened);
+            return;
+        }
+        super.onTick(instance, point, block);
+    }
+
+    /**
+     * Spreads lava in batches per chunk: the next tick is moved by up to half the tick rate, so that all the lava of a
+     * chunk ticks together, and the chunks of a lava sea tick on different game ticks.
+     */
+    @Override
+    public int getNextTickDelay(Instance instance, Point point, Block block) {
+        int tickRate = getTickRate(instance);
+        int chunkX = point.blockX() >> 4;
+        int chunkZ = point.blockZ() >> 4;
+        int phase = Math.floorMod(chunkX * 31 + chunkZ * 17, tickRate);
+
+        int offset = (int) Math.floorMod(phase - (instance.getWorldAge() + tickRate), (long) tickRate);
+        if (offset > tickRate / 2) offset -= tickRate;
+        return tickRate + offset;
+    }
+
+    /**
+     * Gets the block this lava hardens into because of its neighbours: obsidian or cobblestone when touching water,
+     * basalt when above soul soil and next to blue ice.
+     *
+     * @return the hardened block, or null if the lava stays
+     */
+    public @Nullable Block getInteraction(Instance instance, int x, int y, int z, Block block) {
+        boolean soulSoilBelow = instance.getBlock(x, y - 1, z).compare(Block.SOUL_SOIL);
+        for (Direction direction : INTERACTION_DIRECTIONS) {
+            Block neighbour = instance.getBlock(x + direction.normalX(), y + direction.normalY(), z + direction.normalZ());
+            if (FluidStates.type(neighbour) == FluidStates.TYPE_WATER) {
+                return isSource(block) ? Block.OBSIDIAN : Block.COBBLESTONE;
+            }
+            if (soulSoilBelow && neighbour.compare(Block.BLUE_ICE)) {
+                return Block.BASALT;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void flow(Instance instance, int x, int y, int z, Block block, Direction direction, Block newBlock) {
+        if (direction == Direction.DOWN && block.compare(Block.WATER)) {
+            // Lava flowing down into water turns it into stone
+            setBlock(instance, x, y, z, Block.STONE);
+            return;
+        }
+        super.flow(instance, x, y, z, block, direction, newBlock);
+    }
+
+    @Override
+    protected boolean isInfinite() {
+        return false;
+    }
+
+    @Override
+    protected boolean onBreakingBlock(Instance instance, Point point, Block block) {
+        return true;
+    }
+
+    @Override
+    protected int getHoleRadius(Instance instance) {
+        return instance.getDimensionType().isUltrawarm() ? 4 : 2;
+    }
+
+    @Override
+    public int getLevelDecreasePerBlock(Instance instance) {
+        return instance.getDimensionType().isUltrawarm() ? 1 : 2;
+    }
+
+    @Override
+    public int getTickRate(Instance instance) {
+        return instance.getDimensionType().isUltrawarm() ? 10 : 30;
+    }
+
+    @Override
+    protected boolean canBeReplacedWith(Instance instance, int x, int y, int z, Fluid other, Direction direction) {
+        return other == MinestomFluids.WATER && getHeight(instance.getBlock(x, y, z)) >= 0.44444445;
+    }
+
+    @Override
+    protected double getBlastResistance() {
+        return 100;
+    }
+}
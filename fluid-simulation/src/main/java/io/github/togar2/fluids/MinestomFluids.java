@@ -1,65 +1,89 @@
 package io.github.togar2.fluids;
 
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
 import net.minestom.server.ServerProcess;
 import net.minestom.server.coordinate.Point;
-import net.minestom.server.event.Event;
-import net.minestom.server.event.EventNode;
-import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
+import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
+import net.minestom.vanilla.instance.BlockChanges;
+import net.minestom.vanilla.scheduledticksystem.ScheduledTickManager;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 public class MinestomFluids {
     public static final Fluid WATER = new WaterFluid();
+    public static final Fluid LAVA = new LavaFluid();
     public static final Fluid EMPTY = new EmptyFluid();
 
-    private static final Map<Instance, Map<Long, Set<Point>>> UPDATES = new ConcurrentHashMap<>();
-
     public static Fluid get(Block block) {
-        if (block.compare(Block.WATER)) {
-            return WATER;
-        } else if (block.compare(Block.LAVA)) {
-            return EMPTY;
-        } else {
-            return EMPTY;
-        }
-    }
-
-    public static void tick(InstanceTickEvent event) {
-        Set<Point> currentUpdate = UPDATES.computeIfAbsent(event.getInstance(), i -> new ConcurrentHashMap<>())
-                .get(event.getInstance().getWorldAge());
-        if (currentUpdate == null) return;
-        for (Point point : currentUpdate) {
-            tick(event.getInstance(), point);
-        }
-        UPDATES.get(event.getInstance()).remove(event.getInstance().getWorldAge());
+        return switch (FluidStates.type(block)) {
+            case FluidStates.TYPE_WATER -> WATER;
+            case FluidStates.TYPE_LAVA -> LAVA;
+            default -> EMPTY;
+        };
     }
 
     public static void tick(Instance instance, Point point) {
         get(instance.getBlock(point)).onTick(instance, point, instance.getBlock(point));
     }
 
+    /**
+     * Schedules a fluid tick at this position. The ticks are stored with their chunk by the {@link ScheduledTickManager},
+     * so they are freed when the chunk unloads and restored when it loads again.
+     */
     public static void scheduleTick(Instance instance, Point point, Block block) {
-        int tickDelay = MinestomFluids.get(block).getNextTickDelay(instance, point, block);
+        Fluid fluid = MinestomFluids.get(block);
+        int tickDelay = fluid.getNextTickDelay(instance, point, block);
         if (tickDelay == -1) return;
 
-        //TODO figure out a way to remove instance from map if unregistered?
-        long newAge = instance.getWorldAge() + tickDelay;
-        UPDATES.get(instance).computeIfAbsent(newAge, l -> new HashSet<>()).add(point);
+        ScheduledTickManager.from(instance).schedule(point, fluid.getDefaultBlock(), tickDelay);
     }
 
-    public static void init(ServerProcess process) {
-        process.block().registerBlockPlacementRule(new FluidPlacementRule(Block.WATER));
-        process.eventHandler().addChild(events());
+    /**
+     * Reacts to a change at or next to this position: lava touching water hardens, other fluids schedule their next
+     * tick.
+     */
+    public static void update(Instance instance, int x, int y, int z) {
+        if (!instance.isChunkLoaded(x >> 4, z >> 4)) return;
+        Block block = instance.getBlock(x, y, z);
+        Fluid fluid = get(block);
+        if (fluid == EMPTY) return;
+
+        if (fluid instanceof LavaFluid lava) {
+            Block hardened = lava.getInteraction(instance, x, y, z, block);
+            if (hardened != null) {
+                BlockChanges.setBlock(instance, x, y, z, hardened);
+                return;
+            }
+        }
+        scheduleTick(instance, new Vec(x, y, z), block);
     }
 
-    public static EventNode<Event> events() {
-        EventNode<Event> node = EventNode.all("fluid-events");
-        node.addListener(InstanceTickEvent.class, MinestomFluids::tick);
-        return node;
+    public static void init(ServerProcess process) {
+        UpdatedStates.init();
+        for (Fluid fluid : List.of(WATER, LAVA)) {
+            Block block = fluid.getDefaultBlock();
+            FluidTicker ticker = new FluidTicker(fluid);
+            // Changes made outside the fluid engine, e.g. by buckets, still go through the placement rule
+            process.block().registerBlockPlacementRule(new FluidPlacementRule(block));
+            for (Block state : block.possibleStates()) {
+                BlockUpdateManager.registerUpdatable(state.stateId(), ticker);
+            }
+            ScheduledTickManager.registerScheduledTickable(block, ticker);
+        }
+
+        // Waterlogged blocks, kelp and seagrass hold water too, unless they already have their own update logic
+        ShortArrayList holdingWater = new ShortArrayList();
+        for (Block block : Block.values()) {
+            if (block.compare(Block.WATER)) continue;
+            for (Block state : block.possibleStates()) {
+                if (FluidStates.type(state) != FluidStates.TYPE_WATER) continue;
+                if (BlockUpdateManager.isUpdatable(state.stateId())) continue;
+                holdingWater.add(state.stateId());
+            }
+        }
+        BlockUpdateManager.registerUpdatable(holdingWater.toShortArray(), new FluidTicker(WATER));
     }
 }
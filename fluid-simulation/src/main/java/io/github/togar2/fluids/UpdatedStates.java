@@ -0,0 +1,77 @@
+package io.github.togar2.fluids;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.Direction;
+import net.minestom.vanilla.instance.BlockChanges;
+import net.minestom.vanilla.utils.PackedBlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The updated fluid states computed in an instance during the current game tick, by fluid and position.
+ * <p>
+ * An updated state depends on the blocks around its position, so every block change made through
+ * {@link BlockChanges}, whichever fluid or system made it, forgets the states next to the changed block. Everything is
+ * forgotten once a new tick starts.
+ * </p>
+ */
+final class UpdatedStates {
+
+    private static final Map<Instance, UpdatedStates> instance2States = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<Fluid, Long2ObjectOpenHashMap<Block>> fluid2States = new IdentityHashMap<>();
+    private long tick = -1;
+
+    private UpdatedStates() {
+    }
+
+    static @NotNull UpdatedStates of(@NotNull Instance instance) {
+        return instance2States.computeIfAbsent(instance, ignored -> new UpdatedStates());
+    }
+
+    /**
+     * Forgets the states next to every block changed through {@link BlockChanges}.
+     */
+    static void init() {
+        BlockChanges.addListener((instance, chunk, x, y, z, block) -> {
+            UpdatedStates states = instance2States.get(instance);
+            if (states != null) states.forget(x, y, z);
+        });
+    }
+
+    /**
+     * @return the state remembered for this fluid at this position during this tick, or null
+     */
+    synchronized @Nullable Block get(@NotNull Fluid fluid, long tick, long pos) {
+        if (this.tick != tick) {
+            this.tick = tick;
+            fluid2States.values().forEach(Long2ObjectOpenHashMap::clear);
+            return null;
+        }
+        Long2ObjectOpenHashMap<Block> states = fluid2States.get(fluid);
+        return states == null ? null : states.get(pos);
+    }
+
+    synchronized void put(@NotNull Fluid fluid, long pos, @NotNull Block state) {
+        fluid2States.computeIfAbsent(fluid, ignored -> new Long2ObjectOpenHashMap<>()).put(pos, state);
+    }
+
+    private synchronized void forget(int x, int y, int z) {
+        for (Long2ObjectOpenHashMap<Block> states : fluid2States.values()) {
+            if (states.isEmpty()) continue;
+            states.remove(PackedBlockPos.pack(x, y, z));
+            states.remove(PackedBlockPos.pack(x, y + 1, z));
+            states.remove(PackedBlockPos.pack(x, y - 1, z));
+            for (Direction direction : Direction.HORIZONTAL) {
+                states.remove(PackedBlockPos.pack(x + direction.normalX(), y, z + direction.normalZ()));
+            }
+        }
+    }
+}
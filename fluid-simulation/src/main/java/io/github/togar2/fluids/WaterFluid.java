@@ -17,6 +17,11 @@ public class WaterFluid extends FlowableFluid {
         return true;
     }
 
+    @Override
+    protected boolean canWaterlog() {
+        return true;
+    }
+
     @Override
     protected boolean onBreakingBlock(Instance instance, Point point, Block block) {
         WaterBlockBreakEvent event = new WaterBlockBreakEvent(instance, point, block);
@@ -39,8 +44,8 @@ public class WaterFluid extends FlowableFluid {
     }
 
     @Override
-    protected boolean canBeReplacedWith(Instance instance, Point point, Fluid other, Direction direction) {
-        return direction == Direction.DOWN && this == other;
+    protected boolean canBeReplacedWith(Instance instance, int x, int y, int z, Fluid other, Direction direction) {
+        return direction == Direction.DOWN && this != other;
     }
 
     @Override
@@ -0,0 +1,73 @@
+package io.github.togar2.fluids;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FluidStatesTest {
+
+    @BeforeAll
+    public static void init() {
+        // The table reads the signs tag
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void fluidTypes() {
+        assertEquals(FluidStates.TYPE_WATER, FluidStates.type(Block.WATER));
+        assertEquals(FluidStates.TYPE_LAVA, FluidStates.type(Block.LAVA.withProperty("level", "4")));
+        assertEquals(FluidStates.TYPE_WATER, FluidStates.type(Block.KELP));
+        assertEquals(FluidStates.TYPE_WATER, FluidStates.type(Block.OAK_STAIRS.withProperty("waterlogged", "true")));
+        assertEquals(FluidStates.TYPE_NONE, FluidStates.type(Block.OAK_STAIRS));
+        assertEquals(FluidStates.TYPE_NONE, FluidStates.type(Block.AIR));
+        assertTrue(FluidStates.isLiquid(Block.WATER));
+        assertFalse(FluidStates.isLiquid(Block.KELP));
+    }
+
+    @Test
+    public void fillableBlocks() {
+        assertTrue(FluidStates.isFillable(Block.AIR));
+        assertTrue(FluidStates.isFillable(Block.GRASS));
+        assertFalse(FluidStates.isFillable(Block.STONE));
+        assertFalse(FluidStates.isFillable(Block.LADDER));
+        assertFalse(FluidStates.isFillable(Block.OAK_DOOR));
+        assertFalse(FluidStates.isFillable(Block.BRAIN_CORAL));
+        assertFalse(FluidStates.isFillable(Block.OAK_SIGN));
+        assertFalse(FluidStates.isFillable(Block.SEAGRASS));
+        // Waterloggable blocks hold water instead of being replaced
+        assertFalse(FluidStates.isFillable(Block.OAK_FENCE));
+        assertTrue(FluidStates.blocksFlow(Block.STONE));
+        assertFalse(FluidStates.blocksFlow(Block.GRASS));
+    }
+
+    @Test
+    public void everyStateMatchesItsProperties() {
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                String level = state.getProperty("level");
+                assertEquals(level != null, FluidStates.hasLevel(state), state.toString());
+                assertEquals(level == null ? 0 : Integer.parseInt(level), FluidStates.level(state), state.toString());
+
+                String waterlogged = state.getProperty("waterlogged");
+                assertEquals(waterlogged != null, FluidStates.isWaterloggable(state), state.toString());
+                assertEquals("true".equals(waterlogged), FluidStates.isWaterlogged(state), state.toString());
+
+                assertEquals(state.isSolid(), FluidStates.blocksFlow(state), state.toString());
+                assertEquals(state.isLiquid(), FluidStates.isLiquid(state), state.toString());
+            }
+        }
+    }
+
+    @Test
+    public void waterloggingKeepsOtherProperties() {
+        for (Block state : Block.OAK_STAIRS.possibleStates()) {
+            for (boolean waterlogged : new boolean[]{true, false}) {
+                Block expected = state.withProperty("waterlogged", String.valueOf(waterlogged));
+                assertEquals(expected.stateId(), FluidStates.withWaterlogged(state, waterlogged).stateId());
+            }
+        }
+    }
+}
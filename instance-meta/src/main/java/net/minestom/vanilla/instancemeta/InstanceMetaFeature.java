@@ -1,15 +1,23 @@
 package net.minestom.vanilla.instancemeta;
 
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
+import net.minestom.server.event.instance.InstanceChunkUnloadEvent;
 import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.player.PlayerChunkLoadEvent;
+import net.minestom.server.event.player.PlayerChunkUnloadEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.VanillaReimplementation;
-import net.minestom.vanilla.instancemeta.tickets.TicketManager;
+import net.minestom.vanilla.instance.SaveVanillaInstanceEvent;
+import net.minestom.vanilla.instance.SetupVanillaInstanceEvent;
+import net.minestom.vanilla.instancemeta.tickets.TicketChunkManager;
+import net.minestom.vanilla.instancemeta.tickets.TicketQueue;
+import net.minestom.vanilla.instancemeta.tickets.TicketStorage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -26,30 +34,60 @@ public class InstanceMetaFeature implements VanillaReimplementation.Feature {
 
     private static class Logic {
 
-        private final @NotNull Map<Instance, TicketManager> instance2TicketManager =
+        private final @NotNull Map<Instance, TicketChunkManager> instance2ChunkManager =
+                Collections.synchronizedMap(new WeakHashMap<>());
+        private final @NotNull Map<Instance, TicketStorage> instance2TicketStorage =
                 Collections.synchronizedMap(new WeakHashMap<>());
 
         private Logic() {
         }
 
         private void hook(@NotNull VanillaReimplementation vri) {
-            vri.process().eventHandler().addListener(InstanceTickEvent.class, event -> tickInstance(event.getInstance()));
+            vri.process().eventHandler()
+                    .addListener(SetupVanillaInstanceEvent.class, this::setupInstance)
+                    .addListener(SaveVanillaInstanceEvent.class, this::saveInstance)
+                    .addListener(InstanceTickEvent.class, event -> tickInstance(event.getInstance()))
+                    // The tier of a chunk also depends on whether it is loaded and viewed
+                    .addListener(InstanceChunkLoadEvent.class, event ->
+                            chunkChanged(event.getInstance(), event.getChunkX(), event.getChunkZ()))
+                    .addListener(InstanceChunkUnloadEvent.class, event ->
+                            chunkChanged(event.getInstance(), event.getChunkX(), event.getChunkZ()))
+                    .addListener(PlayerChunkLoadEvent.class, event ->
+                            chunkChanged(event.getInstance(), event.getChunkX(), event.getChunkZ()))
+                    .addListener(PlayerChunkUnloadEvent.class, event ->
+                            chunkChanged(event.getInstance(), event.getChunkX(), event.getChunkZ()));
         }
 
-        // Process all future tickets
-        private void tickInstance(@NotNull Instance instance) {
-            TicketManager ticketManager = instance2TicketManager.computeIfAbsent(instance, ignored -> new TicketManager());
+        // Load the saved tickets before anything else, e.g. spawn chunks, gets loaded
+        private void setupInstance(@NotNull SetupVanillaInstanceEvent event) {
+            Instance instance = event.getInstance();
+            TicketStorage storage = new TicketStorage(event.getDirectory());
+            instance2TicketStorage.put(instance, storage);
+            storage.load(chunkManager(instance).ticketManager(), instance.getWorldAge());
+        }
+
+        private void saveInstance(@NotNull SaveVanillaInstanceEvent event) {
+            Instance instance = event.getInstance();
+            TicketStorage storage = instance2TicketStorage.get(instance);
+            if (storage == null) return;
+            storage.save(chunkManager(instance).ticketManager());
+        }
 
-            List<TicketManager.Ticket> waitingForceLoads = instance.getTag(TicketManager.WAITING_TICKETS_TAG);
-            if (waitingForceLoads == null) {
-                return;
-            }
+        private @NotNull TicketChunkManager chunkManager(@NotNull Instance instance) {
+            return instance2ChunkManager.computeIfAbsent(instance, TicketChunkManager::new);
+        }
 
-            for (TicketManager.Ticket waitingForceLoad : waitingForceLoads) {
-                ticketManager.addTicket(waitingForceLoad);
-            }
+        private void chunkChanged(@Nullable Instance instance, int chunkX, int chunkZ) {
+            // Players may already have left the instance of the chunks they unload
+            if (instance == null) return;
+            chunkManager(instance).chunkChanged(chunkX, chunkZ);
+        }
 
-            instance.setTag(TicketManager.WAITING_TICKETS_TAG, List.of());
+        // Apply all the queued ticket changes at once, then load and unload chunks accordingly
+        private void tickInstance(@NotNull Instance instance) {
+            TicketChunkManager chunkManager = chunkManager(instance);
+            TicketQueue.of(instance).drainTo(chunkManager.ticketManager());
+            chunkManager.tick();
         }
     }
 }
@@ -0,0 +1,182 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.vanilla.instance.ChunkTier;
+import net.minestom.vanilla.instance.ChunkTiers;
+import org.jetbrains.annotations.NotNull;
+import org.tinylog.Logger;
+
+/**
+ * Loads, unloads and tiers the chunks of an instance according to its tickets.
+ * <p>
+ * Chunks with a ticket value of at least 1 are loaded. Chunks that drop below that, and chunks that were loaded by
+ * other means (e.g. players walking around) but have no tickets, are unloaded after a grace period, unless they are
+ * still viewed by a player or contain entities. Minestom's view distance stands in for vanilla's player tickets:
+ * chunks that are viewed by a player are always {@link ChunkTier#ENTITY_TICKING}.
+ * </p>
+ * <p>
+ * The tiers are published as an immutable snapshot, so that {@link #tier(int, int)} is a single map lookup without
+ * any lock. Once per tick, after the tickets have been applied, only the chunks whose ticket value, viewers or load
+ * state changed get their tier recomputed into a new snapshot; when nothing changed, the previous one stays. The
+ * periodic scan for unused chunks also catches tiers that went stale without an event.
+ * </p>
+ */
+public class TicketChunkManager implements ChunkTiers.Provider {
+
+    private static final @NotNull String UNLOAD_DELAY_SYSTEM_PROPERTY = "vri.chunks.unloaddelay";
+
+    /**
+     * The amount of ticks a chunk stays loaded once nothing needs it anymore.
+     */
+    private static final int UNLOAD_DELAY = Integer.getInteger(UNLOAD_DELAY_SYSTEM_PROPERTY, 300);
+
+    // How often loaded chunks are checked for becoming unused, in ticks
+    private static final int UNUSED_SCAN_INTERVAL = 20;
+
+    private final Instance instance;
+    private final TicketManager ticketManager = new TicketManager();
+
+    // The world age at which each unused chunk gets unloaded
+    private final Long2LongMap unloadAt = new Long2LongOpenHashMap();
+    // The tier of each loaded chunk above inaccessible, replaced whenever one of them changes
+    private volatile Long2ObjectMap<ChunkTier> tiers = Long2ObjectMaps.emptyMap();
+    // The chunks whose tier may have changed since the tiers were last published
+    private final LongSet changedTiers = new LongOpenHashSet();
+
+    public TicketChunkManager(@NotNull Instance instance) {
+        this.instance = instance;
+        ChunkTiers.setProvider(instance, this);
+    }
+
+    public @NotNull TicketManager ticketManager() {
+        return ticketManager;
+    }
+
+    @Override
+    public @NotNull ChunkTier tier(int chunkX, int chunkZ) {
+        ChunkTier tier = tiers.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        return tier == null ? ChunkTier.INACCESSIBLE : tier;
+    }
+
+    /**
+     * Marks the tier of this chunk as possibly changed, e.g. because it was loaded, unloaded, or its viewers changed.
+     * The tier is recomputed during the next tick. Safe to call from any thread.
+     */
+    public void chunkChanged(int chunkX, int chunkZ) {
+        tierChanged(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Expires tickets, applies the ticket changes of the last tick, unloads the chunks whose grace period is over,
+     * and publishes the tiers of the remaining chunks.
+     */
+    public void tick() {
+        long worldAge = instance.getWorldAge();
+        ticketManager.expire(worldAge);
+        ticketManager.drainChangedChunks(chunkIndex -> {
+            tierChanged(chunkIndex);
+            if (ticketManager.getTicketValue(chunkIndex) > 0) {
+                unloadAt.remove(chunkIndex);
+                int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
+                int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
+                if (!instance.isChunkLoaded(chunkX, chunkZ)) instance.loadChunk(chunkX, chunkZ);
+            } else {
+                unloadAt.putIfAbsent(chunkIndex, worldAge + UNLOAD_DELAY);
+            }
+        });
+
+        if (worldAge % UNUSED_SCAN_INTERVAL == 0) {
+            for (Chunk chunk : instance.getChunks()) {
+                long chunkIndex = ChunkUtils.getChunkIndex(chunk);
+                if (tier(chunk.getChunkX(), chunk.getChunkZ()) != computeTier(chunkIndex)) tierChanged(chunkIndex);
+                if (!isUnused(chunk)) continue;
+                unloadAt.putIfAbsent(chunkIndex, worldAge + UNLOAD_DELAY);
+            }
+        }
+
+        unloadUnused(worldAge);
+        publishTiers();
+    }
+
+    private void unloadUnused(long worldAge) {
+        if (unloadAt.isEmpty()) return;
+        ObjectIterator<Long2LongMap.Entry> iterator = unloadAt.long2LongEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Long2LongMap.Entry entry = iterator.next();
+            if (entry.getLongValue() > worldAge) continue;
+            iterator.remove();
+
+            long chunkIndex = entry.getLongKey();
+            Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordX(chunkIndex), ChunkUtils.getChunkCoordZ(chunkIndex));
+            // The chunk may have been needed again during the grace period
+            if (chunk == null || !isUnused(chunk)) continue;
+            unload(chunk);
+        }
+    }
+
+    private void tierChanged(long chunkIndex) {
+        synchronized (changedTiers) {
+            changedTiers.add(chunkIndex);
+        }
+    }
+
+    /**
+     * Publishes a copy of the tiers with the changed chunks recomputed, unless no chunk changed.
+     */
+    private void publishTiers() {
+        long[] changed;
+        synchronized (changedTiers) {
+            if (changedTiers.isEmpty()) return;
+            changed = changedTiers.toLongArray();
+            changedTiers.clear();
+        }
+
+        Long2ObjectMap<ChunkTier> tiers = new Long2ObjectOpenHashMap<>(this.tiers);
+        for (long chunkIndex : changed) {
+            ChunkTier tier = computeTier(chunkIndex);
+            if (tier == ChunkTier.INACCESSIBLE) {
+                tiers.remove(chunkIndex);
+            } else {
+                tiers.put(chunkIndex, tier);
+            }
+        }
+        this.tiers = tiers;
+    }
+
+    private @NotNull ChunkTier computeTier(long chunkIndex) {
+        Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordX(chunkIndex), ChunkUtils.getChunkCoordZ(chunkIndex));
+        if (chunk == null || !chunk.isLoaded()) return ChunkTier.INACCESSIBLE;
+        return chunk.getViewers().isEmpty() ? ticketManager.getTier(chunkIndex) : ChunkTier.ENTITY_TICKING;
+    }
+
+    private boolean isUnused(@NotNull Chunk chunk) {
+        return chunk.isLoaded()
+                && chunk.getViewers().isEmpty()
+                && ticketManager.getTicketValue(ChunkUtils.getChunkIndex(chunk)) <= 0
+                && instance.getChunkEntities(chunk).isEmpty();
+    }
+
+    private void unload(@NotNull Chunk chunk) {
+        // Unload first, so that the unload listeners write their state to the chunk before it gets saved
+        instance.unloadChunk(chunk);
+        tierChanged(ChunkUtils.getChunkIndex(chunk));
+        if (instance instanceof InstanceContainer container) {
+            container.getChunkLoader().saveChunk(chunk).exceptionally(throwable -> {
+                Logger.error(throwable, "Failed to save chunk {} {} while unloading it",
+                        chunk.getChunkX(), chunk.getChunkZ());
+                return null;
+            });
+        }
+    }
+}
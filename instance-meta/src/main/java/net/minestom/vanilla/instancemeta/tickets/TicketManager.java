@@ -1,23 +1,21 @@
 package net.minestom.vanilla.instancemeta.tickets;
 
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.Long2ShortMap;
-import it.unimi.dsi.fastutil.longs.Long2ShortOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ShortMap;
-import it.unimi.dsi.fastutil.objects.Object2ShortOpenHashMap;
+import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.shorts.Short2IntMap;
 import it.unimi.dsi.fastutil.shorts.Short2IntOpenHashMap;
-import net.minestom.server.tag.Tag;
-import net.minestom.server.tag.TagReadable;
-import net.minestom.server.tag.TagSerializer;
-import net.minestom.server.tag.TagWritable;
+import it.unimi.dsi.fastutil.shorts.ShortArrayFIFOQueue;
 import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.vanilla.instance.ChunkTier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
 
 /*
 Tickets are used to choose when & how to load chunks, when and how to tick entities, and when and how to tick
@@ -35,18 +33,16 @@ vriTicketValue = 34 - vanillaTicketValue
 
 /**
  * A utility class used to manage instance's tickets
+ * <p>
+ * The value of a chunk is the highest value among the tickets around it, each ticket losing one per chunk of distance.
+ * Values are updated incrementally when tickets change, in the same way vanilla propagates chunk levels: raising a
+ * value spreads outwards until it meets higher values, lowering one clears the chunks that depended on it and fills
+ * them back in from their other sources. Either way, the cost depends on the amount of chunks whose value changes.
+ * </p>
  */
 @SuppressWarnings("UnstableApiUsage")
 public class TicketManager {
 
-    public static final Tag<List<Ticket>> WAITING_TICKETS_TAG =
-            Tag.Structure("vri:instancemeta:waiting_tickets", TicketManager.Ticket.SERIALIZER)
-                    .list();
-
-    public static final Tag<List<Ticket>> REMOVING_TICKETS_TAG =
-            Tag.Structure("vri:instancemeta:removing_tickets", TicketManager.Ticket.SERIALIZER)
-                    .list();
-
     // Vanilla ticket values
     public static final short PLAYER_TICKET = 34 - 31;
     public static final short FORCED_TICKET = 34 - 31;
@@ -58,51 +54,60 @@ public class TicketManager {
     public static final short END_PORTAL_TICKET = 34 - 33;
     public static final short TEMPORARY_TICKET = 34 - 33;
 
-    /**
-     * The first Long is the target chunk
-     * The second Long is the source chunk
-     * The resulting Short is the value for this chunk
-     */
-    private final Object2ShortMap<Source2Target> externalTicketValues = new Object2ShortOpenHashMap<>();
+    // Ticket counts by value, by chunk
     private final Long2ObjectMap<Short2IntMap> internalTicketValues = new Long2ObjectOpenHashMap<>();
+    // The highest ticket value of each chunk that has tickets
+    private final Long2ShortMap sourceTicketValue = new Long2ShortOpenHashMap();
+    // The propagated value of each chunk with a value above 0
     private final Long2ShortMap currentTicketValue = new Long2ShortOpenHashMap();
 
+    // Propagation queues, kept between updates
+    private final LongArrayFIFOQueue increaseQueue = new LongArrayFIFOQueue();
+    private final LongArrayFIFOQueue decreaseQueue = new LongArrayFIFOQueue();
+    private final ShortArrayFIFOQueue decreaseValues = new ShortArrayFIFOQueue();
+    private final LongArrayList restoreSources = new LongArrayList();
+
+    // The chunks whose value changed since the last call to drainChangedChunks
+    private final LongSet changedChunks = new LongOpenHashSet();
+
+    // The tickets saved with the world, and whether they changed since they were last saved
+    private final Object2IntMap<Ticket> persistentTickets = new Object2IntOpenHashMap<>();
+    private boolean persistentDirty = false;
+
+    // The tickets that have a lifetime, bucketed by the game tick they expire at
+    private final Long2ObjectSortedMap<List<Ticket>> expiries = new Long2ObjectRBTreeMap<>();
+    // The pending expiry ticks of each of those tickets, so that removing one finds its bucket directly
+    private final Object2ObjectMap<Ticket, LongList> ticketExpiries = new Object2ObjectOpenHashMap<>();
+    private long currentTick = 0;
 
     public interface Ticket {
         short value();
 
         long chunk();
 
+        /**
+         * @return the type of this ticket, or null for tickets that were created from a bare value
+         */
+        @Nullable TicketType type();
+
         static @NotNull Ticket from(short value, long chunk) {
-            return new TicketImpl(value, chunk);
+            return new TicketImpl(value, chunk, null);
         }
 
-        Tag<Short> VALUE_TAG = Tag.Short("vri:instancemeta:ticket_value");
-        Tag<Long> CHUNK_TAG = Tag.Long("vri:instancemeta:ticket_chunk");
-
-        TagSerializer<Ticket> SERIALIZER = new TagSerializer<>() {
-            @Override
-            public @Nullable Ticket read(@NotNull TagReadable reader) {
-                Short value = reader.getTag(VALUE_TAG);
-                Long chunk = reader.getTag(CHUNK_TAG);
-                if (value == null || chunk == null) {
-                    return null;
-                }
-                return new TicketImpl(value, chunk);
-            }
-
-            @Override
-            public void write(@NotNull TagWritable writer, @NotNull Ticket value) {
-                writer.setTag(VALUE_TAG, value.value());
-                writer.setTag(CHUNK_TAG, value.chunk());
-            }
-        };
+        static @NotNull Ticket from(@NotNull TicketType type, long chunk) {
+            return new TicketImpl(type.value(), chunk, type);
+        }
     }
 
-    private record TicketImpl(short value, long chunk) implements Ticket {
+    /**
+     * A ticket as saved with the world.
+     *
+     * @param expiresIn the amount of ticks the ticket has left, or 0 if it never expires
+     */
+    record SavedTicket(@NotNull Ticket ticket, long expiresIn) {
     }
 
-    private record Source2Target(long source, long target) {
+    private record TicketImpl(short value, long chunk, @Nullable TicketType type) implements Ticket {
     }
 
     public TicketManager() {
@@ -115,8 +120,21 @@ public class TicketManager {
      *
      * @param ticket the ticket to add
      */
-    public void addTicket(@NotNull Ticket ticket) {
-        addTicket(ticket.value(), ticket.chunk());
+    public synchronized void addTicket(@NotNull Ticket ticket) {
+        if (!add(ticket, expiryOf(ticket))) return;
+        updateSource(ticket.chunk());
+        propagate();
+    }
+
+    /**
+     * Removes a ticket and updates surrounding chunks.
+     *
+     * @param ticket the ticket to remove
+     */
+    public synchronized void removeTicket(@NotNull Ticket ticket) {
+        if (!remove(ticket)) return;
+        updateSource(ticket.chunk());
+        propagate();
     }
 
     /**
@@ -126,71 +144,7 @@ public class TicketManager {
      * @param value the value of the ticket
      */
     public void addTicket(short value, long chunk) {
-
-        // Add value to internal
-        Short2IntMap internalValues = internalTicketValues.get(chunk);
-        internalValues.putIfAbsent(value, 0);
-        internalValues.put(value, internalValues.get(value) + 1);
-
-        externalTicketValues.put(new Source2Target(chunk, chunk), value);
-        recalculateChunkValue(chunk);
-
-        // Add values to surrounding external
-        short currentSourceValue = value;
-        int originX = ChunkUtils.getChunkCoordX(chunk);
-        int originZ = ChunkUtils.getChunkCoordZ(chunk);
-
-        while (currentSourceValue > 1) {
-            // Find starting positions + starting external value
-            int halfWidth = currentSourceValue - 1;
-            short externalValue = (short) (value - currentSourceValue + 1);
-
-            // Left starting position
-            int leftX = originX - halfWidth;
-            int leftZ = originZ + halfWidth;
-
-            // Top starting position
-            int topX = originX - halfWidth;
-            int topZ = originZ - halfWidth;
-
-            // Right starting position
-            int rightX = originX + halfWidth;
-            int rightZ = originZ - halfWidth;
-
-            // Down starting position
-            int downX = originX + halfWidth;
-            int downZ = originZ + halfWidth;
-
-            // Do all squares
-            for (int offset = 0; offset < ((halfWidth * 2) + 1); offset++) {
-
-                { // Left side
-                    long chunkIndex = ChunkUtils.getChunkIndex(leftX, leftZ - offset);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Top side
-                    long chunkIndex = ChunkUtils.getChunkIndex(topX + offset, topZ);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Right side
-                    long chunkIndex = ChunkUtils.getChunkIndex(rightX, rightZ + offset);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-
-                { // Downside
-                    long chunkIndex = ChunkUtils.getChunkIndex(downX - offset, downZ);
-                    externalTicketValues.put(new Source2Target(chunkIndex, chunk), externalValue);
-                    recalculateChunkValue(chunkIndex);
-                }
-            }
-
-            currentSourceValue--;
-        }
+        addTicket(Ticket.from(value, chunk));
     }
 
     /**
@@ -200,109 +154,211 @@ public class TicketManager {
      * @param value the value of the ticket being removed
      */
     public void removeTicket(long chunk, short value) {
+        removeTicket(Ticket.from(value, chunk));
+    }
 
-        // Remove value from internal
-        Short2IntMap internalValues = internalTicketValues.get(chunk);
-
-        if (internalValues.containsKey(value)) {
-            int current = internalValues.get(value);
+    /**
+     * Applies a batch of queued ticket changes, in order, then updates the surrounding chunks in a single pass.
+     *
+     * @param changes the changes to apply
+     */
+    synchronized void apply(@NotNull List<TicketQueue.Change> changes) {
+        LongSet touched = new LongOpenHashSet();
+        for (TicketQueue.Change change : changes) {
+            Ticket ticket = change.ticket();
+            boolean changed = change.added() ? add(ticket, expiryOf(ticket)) : remove(ticket);
+            if (changed) touched.add(ticket.chunk());
+        }
+        if (touched.isEmpty()) return;
+        touched.forEach(this::updateSource);
+        propagate();
+    }
 
-            if (current == 1) {
-                internalValues.remove(value);
-            } else {
-                internalValues.put(value, current - 1);
+    /**
+     * Removes the tickets whose lifetime is over. Does nothing but a comparison when no ticket is due.
+     *
+     * @param tick the current game tick
+     */
+    public synchronized void expire(long tick) {
+        currentTick = tick;
+        if (expiries.isEmpty() || expiries.firstLongKey() > tick) return;
+
+        LongSet touched = new LongOpenHashSet();
+        while (!expiries.isEmpty() && expiries.firstLongKey() <= tick) {
+            long expiresAt = expiries.firstLongKey();
+            for (Ticket ticket : expiries.remove(expiresAt)) {
+                forgetExpiry(ticket, expiresAt);
+                if (countTicket(ticket, -1)) touched.add(ticket.chunk());
             }
-            return;
         }
+        if (touched.isEmpty()) return;
+        touched.forEach(this::updateSource);
+        propagate();
+    }
 
-        // Remove value from external access into this chunk
-        externalTicketValues.removeShort(new Source2Target(chunk, chunk));
-        recalculateChunkValue(chunk);
-
-        // Remove values from surrounding external
-        short highestInternalValue = 0;
+    /**
+     * Adds the tickets loaded from the world, without marking them as changed.
+     *
+     * @param tickets the saved tickets
+     * @param tick    the current game tick
+     */
+    synchronized void load(@NotNull List<SavedTicket> tickets, long tick) {
+        currentTick = Math.max(currentTick, tick);
+        boolean dirty = persistentDirty;
+        LongSet touched = new LongOpenHashSet();
+        for (SavedTicket saved : tickets) {
+            long expiresAt = saved.expiresIn() > 0 ? currentTick + saved.expiresIn() : 0;
+            if (add(saved.ticket(), expiresAt)) touched.add(saved.ticket().chunk());
+        }
+        persistentDirty = dirty;
+        if (touched.isEmpty()) return;
+        touched.forEach(this::updateSource);
+        propagate();
+    }
 
-        for (short internalValue : internalValues.keySet()) {
-            if (internalValue > highestInternalValue) {
-                highestInternalValue = internalValue;
+    /**
+     * Gets the tickets to save with the world, if they changed since the last call.
+     *
+     * @return the persistent tickets, or null if they have not changed
+     */
+    synchronized @Nullable List<SavedTicket> takeChangedPersistentTickets() {
+        if (!persistentDirty) return null;
+        persistentDirty = false;
+        List<SavedTicket> tickets = new ArrayList<>();
+
+        // Expiring tickets first, the remaining count of each ticket never expires
+        Object2IntMap<Ticket> remaining = new Object2IntOpenHashMap<>(persistentTickets);
+        for (Long2ObjectMap.Entry<List<Ticket>> bucket : expiries.long2ObjectEntrySet()) {
+            for (Ticket ticket : bucket.getValue()) {
+                int count = remaining.getInt(ticket);
+                if (count <= 0) continue;
+                remaining.put(ticket, count - 1);
+                tickets.add(new SavedTicket(ticket, Math.max(bucket.getLongKey() - currentTick, 1)));
             }
         }
-
-        if (highestInternalValue > 0) {
-            externalTicketValues.put(new Source2Target(chunk, chunk), highestInternalValue);
+        for (Object2IntMap.Entry<Ticket> entry : remaining.object2IntEntrySet()) {
+            for (int i = 0; i < entry.getIntValue(); i++) {
+                tickets.add(new SavedTicket(entry.getKey(), 0));
+            }
         }
+        return tickets;
+    }
 
-        short previousSourceValue = value;
-        int originX = ChunkUtils.getChunkCoordX(chunk);
-        int originZ = ChunkUtils.getChunkCoordZ(chunk);
-
-        while (previousSourceValue > 1) {
-            // Find starting positions + starting external value
-            int halfWidth = previousSourceValue - 1;
-
-            // Left starting position
-            int leftX = originX - halfWidth;
-            int leftZ = originZ + halfWidth;
-
-            // Top starting position
-            int topX = originX - halfWidth;
-            int topZ = originZ - halfWidth;
-
-            // Right starting position
-            int rightX = originX + halfWidth;
-            int rightZ = originZ - halfWidth;
-
-            // Down starting position
-            int downX = originX + halfWidth;
-            int downZ = originZ + halfWidth;
+    /**
+     * Marks the persistent tickets as changed, e.g. after saving them failed.
+     */
+    synchronized void markPersistentDirty() {
+        persistentDirty = true;
+    }
 
-            // Do all squares
-            for (int offset = 0; offset < ((halfWidth * 2) + 1); offset++) {
+    /**
+     * Counts a new ticket, and queues its expiry if it has one.
+     *
+     * @param expiresAt the game tick the ticket expires at, or 0 if it never expires
+     * @return false if nothing changed
+     */
+    private boolean add(@NotNull Ticket ticket, long expiresAt) {
+        if (!countTicket(ticket, 1)) return false;
+        if (expiresAt > 0) {
+            List<Ticket> bucket = expiries.get(expiresAt);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                expiries.put(expiresAt, bucket);
+            }
+            bucket.add(ticket);
+            LongList pending = ticketExpiries.get(ticket);
+            if (pending == null) {
+                pending = new LongArrayList(1);
+                ticketExpiries.put(ticket, pending);
+            }
+            pending.add(expiresAt);
+            // The remaining lifetime is saved with persistent tickets
+            if (ticket.type() != null && ticket.type().persistent()) persistentDirty = true;
+        }
+        return true;
+    }
 
-                { // Left side
-                    long chunkIndex = ChunkUtils.getChunkIndex(leftX, leftZ - offset);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
+    /**
+     * Uncounts a ticket, and forgets its earliest pending expiry if it has one, so that the expiry does not remove
+     * another ticket of the same value later on.
+     *
+     * @return false if nothing changed
+     */
+    private boolean remove(@NotNull Ticket ticket) {
+        if (!countTicket(ticket, -1)) return false;
+        TicketType type = ticket.type();
+        if (type == null || type.lifetime() <= 0) return true;
+        LongList pending = ticketExpiries.get(ticket);
+        if (pending == null) return true;
+
+        int earliest = 0;
+        for (int i = 1; i < pending.size(); i++) {
+            if (pending.getLong(i) < pending.getLong(earliest)) earliest = i;
+        }
+        long expiresAt = pending.getLong(earliest);
+        forgetExpiry(ticket, expiresAt);
+        List<Ticket> bucket = expiries.get(expiresAt);
+        bucket.remove(ticket);
+        if (bucket.isEmpty()) expiries.remove(expiresAt);
+        return true;
+    }
 
-                { // Top side
-                    long chunkIndex = ChunkUtils.getChunkIndex(topX + offset, topZ);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
+    private void forgetExpiry(@NotNull Ticket ticket, long expiresAt) {
+        LongList pending = ticketExpiries.get(ticket);
+        if (pending == null) return;
+        pending.rem(expiresAt);
+        if (pending.isEmpty()) ticketExpiries.remove(ticket);
+    }
 
-                { // Right side
-                    long chunkIndex = ChunkUtils.getChunkIndex(rightX, rightZ + offset);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
+    private long expiryOf(@NotNull Ticket ticket) {
+        TicketType type = ticket.type();
+        return type == null || type.lifetime() <= 0 ? 0 : currentTick + type.lifetime();
+    }
 
-                { // Downside
-                    long chunkIndex = ChunkUtils.getChunkIndex(downX - offset, downZ);
-                    if (highestInternalValue <= 0) {
-                        externalTicketValues.removeShort(new Source2Target(chunkIndex, chunk));
-                    } else {
-                        externalTicketValues.put(new Source2Target(chunkIndex, chunk), highestInternalValue);
-                    }
-                    recalculateChunkValue(chunkIndex);
-                }
+    /**
+     * Adds to the amount of tickets of this value in this chunk, without updating anything.
+     *
+     * @return false if nothing changed
+     */
+    private boolean countTicket(@NotNull Ticket ticket, int delta) {
+        short value = ticket.value();
+        long chunk = ticket.chunk();
+        if (value <= 0) return false;
+        Short2IntMap internalValues = internalTicketValues.get(chunk);
+        if (delta > 0) {
+            if (internalValues == null) {
+                internalValues = new Short2IntOpenHashMap();
+                internalTicketValues.put(chunk, internalValues);
             }
+            internalValues.put(value, internalValues.get(value) + delta);
+            countPersistent(ticket, delta);
+            return true;
+        }
+
+        if (internalValues == null || !internalValues.containsKey(value)) return false;
+        int current = internalValues.get(value) + delta;
+        if (current <= 0) {
+            internalValues.remove(value);
+        } else {
+            internalValues.put(value, current);
+        }
+        if (internalValues.isEmpty()) {
+            internalTicketValues.remove(chunk);
+        }
+        countPersistent(ticket, delta);
+        return true;
+    }
 
-            previousSourceValue--;
-            highestInternalValue--;
+    private void countPersistent(@NotNull Ticket ticket, int delta) {
+        TicketType type = ticket.type();
+        if (type == null || !type.persistent()) return;
+        int count = persistentTickets.getInt(ticket) + delta;
+        if (count <= 0) {
+            persistentTickets.removeInt(ticket);
+        } else {
+            persistentTickets.put(ticket, count);
         }
+        persistentDirty = true;
     }
 
     /**
@@ -311,57 +367,154 @@ public class TicketManager {
      * @param chunkIndex the chunk index of the chunk to retrieve the ticket value from
      * @return the ticket value
      */
-    public short getTicketValue(long chunkIndex) {
+    public synchronized short getTicketValue(long chunkIndex) {
         return currentTicketValue.get(chunkIndex);
     }
 
+    /**
+     * Gets the tier of the specified chunk, from its ticket value.
+     *
+     * @param chunkIndex the chunk index of the chunk
+     * @return the tier
+     */
+    public @NotNull ChunkTier getTier(long chunkIndex) {
+        return tierOf(getTicketValue(chunkIndex));
+    }
+
+    /**
+     * Hands the chunks whose value changed since the last call to the consumer, and forgets them.
+     *
+     * @param consumer the consumer of the chunk indexes
+     */
+    public synchronized void drainChangedChunks(@NotNull LongConsumer consumer) {
+        if (changedChunks.isEmpty()) return;
+        changedChunks.forEach(consumer);
+        changedChunks.clear();
+    }
+
+    /**
+     * @param value a ticket value
+     * @return the tier of a chunk with this ticket value
+     */
+    public static @NotNull ChunkTier tierOf(short value) {
+        if (value >= 3) return ChunkTier.ENTITY_TICKING;
+        if (value == 2) return ChunkTier.TICKING;
+        if (value == 1) return ChunkTier.BORDER;
+        return ChunkTier.INACCESSIBLE;
+    }
+
     /**
      * Gets information on the tickets for this specified chunk
      *
      * @param chunkIndex the chunk index of the chunk to retrieve the ticket info from
      * @return the ticket value
      */
-    public String getChunkInfo(long chunkIndex) {
-
+    public synchronized String getChunkInfo(long chunkIndex) {
         return "Current Value: " + currentTicketValue.get(chunkIndex) + "\n"
-                + "Internal Tickets: " + internalTicketValues.get(chunkIndex) + "\n"
-                + "External Tickets: " + " (" + externalTicketValues.object2ShortEntrySet()
-                .stream()
-                .filter(entry -> entry.getKey().target() == chunkIndex)
-                .map(String::valueOf)
-                .collect(Collectors.joining(", ")) + " )";
+                + "Source Value: " + sourceTicketValue.get(chunkIndex) + "\n"
+                + "Internal Tickets: " + internalTicketValues.get(chunkIndex);
     }
 
-    private void handleInstanceChunkLoad(long chunkIndex) {
-        synchronized (this) {
-            prepareChunk(chunkIndex);
+    /**
+     * Recomputes the source value of this chunk from its tickets, and queues the propagation of the change.
+     */
+    private void updateSource(long chunk) {
+        short oldSource = sourceTicketValue.get(chunk);
+        short newSource = 0;
+        Short2IntMap internalValues = internalTicketValues.get(chunk);
+        if (internalValues != null) {
+            for (short internalValue : internalValues.keySet()) {
+                if (internalValue > newSource) newSource = internalValue;
+            }
         }
-    }
+        if (oldSource == newSource) return;
 
-    private void prepareChunk(long chunk) {
-        currentTicketValue.computeIfAbsent(chunk, ignored -> (short) 0);
-        internalTicketValues.computeIfAbsent(chunk, k -> new Short2IntOpenHashMap());
-    }
+        if (newSource == 0) {
+            sourceTicketValue.remove(chunk);
+        } else {
+            sourceTicketValue.put(chunk, newSource);
+        }
 
-    private static class MutableShort {
-        private short value;
+        short current = currentTicketValue.get(chunk);
+        if (newSource > current) {
+            setValue(chunk, newSource);
+            increaseQueue.enqueue(chunk);
+        } else if (newSource < oldSource && current == oldSource) {
+            // The value may have come from the removed ticket, clear it and let the neighbours fill it back in
+            setValue(chunk, (short) 0);
+            decreaseQueue.enqueue(chunk);
+            decreaseValues.enqueue(current);
+        }
     }
 
-    private void recalculateChunkValue(long chunkIndex) {
-        prepareChunk(chunkIndex);
+    /**
+     * Propagates all the queued changes, clearing lowered values first, then spreading raised values.
+     */
+    private void propagate() {
+        while (!decreaseQueue.isEmpty()) {
+            long chunk = decreaseQueue.dequeueLong();
+            short oldValue = decreaseValues.dequeueShort();
+            if (sourceTicketValue.get(chunk) > 0) {
+                restoreSources.add(chunk);
+            }
 
-        MutableShort highest = new MutableShort();
-        highest.value = 0;
+            int chunkX = ChunkUtils.getChunkCoordX(chunk);
+            int chunkZ = ChunkUtils.getChunkCoordZ(chunk);
+            for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                    if (offsetX == 0 && offsetZ == 0) continue;
+                    long neighbour = ChunkUtils.getChunkIndex(chunkX + offsetX, chunkZ + offsetZ);
+                    short neighbourValue = currentTicketValue.get(neighbour);
+                    if (neighbourValue == 0) continue;
+
+                    if (neighbourValue < oldValue) {
+                        // May have come from the cleared chunk
+                        setValue(neighbour, (short) 0);
+                        decreaseQueue.enqueue(neighbour);
+                        decreaseValues.enqueue(neighbourValue);
+                    } else {
+                        // Comes from another source, spread it back into the cleared area
+                        increaseQueue.enqueue(neighbour);
+                    }
+                }
+            }
+        }
 
-        externalTicketValues.forEach((source2Target, value) -> {
-            if (source2Target.target() == chunkIndex) {
-                if (value > highest.value) {
-                    highest.value = value;
+        for (int i = 0; i < restoreSources.size(); i++) {
+            long chunk = restoreSources.getLong(i);
+            short source = sourceTicketValue.get(chunk);
+            if (source > currentTicketValue.get(chunk)) {
+                setValue(chunk, source);
+                increaseQueue.enqueue(chunk);
+            }
+        }
+        restoreSources.clear();
+
+        while (!increaseQueue.isEmpty()) {
+            long chunk = increaseQueue.dequeueLong();
+            short neighbourValue = (short) (currentTicketValue.get(chunk) - 1);
+            if (neighbourValue <= 0) continue;
+
+            int chunkX = ChunkUtils.getChunkCoordX(chunk);
+            int chunkZ = ChunkUtils.getChunkCoordZ(chunk);
+            for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+                    if (offsetX == 0 && offsetZ == 0) continue;
+                    long neighbour = ChunkUtils.getChunkIndex(chunkX + offsetX, chunkZ + offsetZ);
+                    if (currentTicketValue.get(neighbour) >= neighbourValue) continue;
+                    setValue(neighbour, neighbourValue);
+                    increaseQueue.enqueue(neighbour);
                 }
             }
-        });
+        }
+    }
 
-        // Set new value
-        this.currentTicketValue.put(chunkIndex, highest.value);
+    private void setValue(long chunk, short value) {
+        changedChunks.add(chunk);
+        if (value <= 0) {
+            currentTicketValue.remove(chunk);
+        } else {
+            currentTicketValue.put(chunk, value);
+        }
     }
-}
\ No newline at end of file
+}
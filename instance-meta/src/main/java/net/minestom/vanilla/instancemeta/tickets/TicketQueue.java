@@ -0,0 +1,66 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The ticket additions and removals of an instance that have not been applied yet.
+ * <p>
+ * Any thread can queue changes without locking. The queue is drained once per tick, and all of its changes are applied
+ * to the {@link TicketManager} together, with a single propagation pass.
+ * </p>
+ */
+public final class TicketQueue {
+
+    private static final Map<Instance, TicketQueue> instance2Queue = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+
+    private TicketQueue() {
+    }
+
+    public static @NotNull TicketQueue of(@NotNull Instance instance) {
+        return instance2Queue.computeIfAbsent(instance, ignored -> new TicketQueue());
+    }
+
+    public void add(@NotNull TicketManager.Ticket ticket) {
+        changes.add(new Change(ticket, true));
+    }
+
+    public void remove(@NotNull TicketManager.Ticket ticket) {
+        changes.add(new Change(ticket, false));
+    }
+
+    /**
+     * @param added true for the additions, false for the removals
+     * @return a snapshot of the queued tickets
+     */
+    @NotNull List<TicketManager.Ticket> pending(boolean added) {
+        List<TicketManager.Ticket> tickets = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.added() == added) tickets.add(change.ticket());
+        }
+        return tickets;
+    }
+
+    /**
+     * Applies every queued change to the ticket manager, in the order they were queued.
+     *
+     * @param ticketManager the ticket manager of this queue's instance
+     */
+    public void drainTo(@NotNull TicketManager ticketManager) {
+        if (changes.isEmpty()) return;
+        List<Change> drained = new ArrayList<>();
+        Change change;
+        while ((change = changes.poll()) != null) {
+            drained.add(change);
+        }
+        ticketManager.apply(drained);
+    }
+
+    record Change(@NotNull TicketManager.Ticket ticket, boolean added) {
+    }
+}
@@ -0,0 +1,103 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import org.jetbrains.annotations.NotNull;
+import org.tinylog.Logger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves the persistent tickets of a world in a compact binary file.
+ * <p>
+ * The file starts with a magic number, a format version and the amount of tickets. Each ticket then takes 19 bytes:
+ * the chunk index as a long, the value as a short, the {@link TicketType#id() type id} as a byte, and the amount of game
+ * ticks left before the ticket expires as a long, 0 if it never expires. The expiry is stored relative to the save, so
+ * that it does not depend on the world age being restored. The file is only rewritten when the tickets have changed
+ * since the last save.
+ * </p>
+ */
+public class TicketStorage {
+
+    private static final int MAGIC = 0x56524954; // "VRIT"
+    private static final short VERSION = 1;
+
+    private final Path file;
+
+    public TicketStorage(@NotNull Path worldDirectory) {
+        this.file = worldDirectory.resolve("data").resolve("vri_tickets.dat");
+    }
+
+    /**
+     * Loads the saved tickets into the ticket manager, if there are any.
+     *
+     * @param ticketManager the ticket manager of the world
+     * @param tick          the current game tick of the world
+     */
+    public void load(@NotNull TicketManager ticketManager, long tick) {
+        List<TicketManager.SavedTicket> tickets = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                Logger.warn("Ignoring {}, it is not a ticket file", file);
+                return;
+            }
+            short version = input.readShort();
+            if (version != VERSION) {
+                Logger.warn("Ignoring {}, unsupported version {}", file, version);
+                return;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                long chunk = input.readLong();
+                short value = input.readShort();
+                TicketType type = TicketType.fromId(input.readByte());
+                long expiresIn = input.readLong();
+                TicketManager.Ticket ticket = type == null ? TicketManager.Ticket.from(value, chunk) : type.at(chunk);
+                tickets.add(new TicketManager.SavedTicket(ticket, expiresIn));
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            Logger.error(e, "Failed to load the tickets from {}", file);
+            return;
+        }
+        ticketManager.load(tickets, tick);
+    }
+
+    /**
+     * Saves the persistent tickets of the ticket manager, unless they did not change since the last save.
+     *
+     * @param ticketManager the ticket manager of the world
+     */
+    public void save(@NotNull TicketManager ticketManager) {
+        List<TicketManager.SavedTicket> tickets = ticketManager.takeChangedPersistentTickets();
+        if (tickets == null) return;
+
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first, so that a crash never leaves a truncated ticket file behind
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                output.writeInt(tickets.size());
+                for (TicketManager.SavedTicket saved : tickets) {
+                    TicketManager.Ticket ticket = saved.ticket();
+                    TicketType type = ticket.type();
+                    output.writeLong(ticket.chunk());
+                    output.writeShort(ticket.value());
+                    output.writeByte(type == null ? 0 : type.id());
+                    output.writeLong(saved.expiresIn());
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ticketManager.markPersistentDirty();
+            Logger.error(e, "Failed to save the tickets to {}", file);
+        }
+    }
+}
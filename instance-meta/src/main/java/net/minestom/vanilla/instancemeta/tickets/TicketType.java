@@ -0,0 +1,70 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The vanilla ticket types, with their value, whether they are saved with the world and how long they last.
+ */
+public enum TicketType {
+    START(1, TicketManager.START_TICKET, false, 0),
+    DRAGON(2, TicketManager.DRAGON_TICKET, false, 0),
+    PLAYER(3, TicketManager.PLAYER_TICKET, false, 0),
+    FORCED(4, TicketManager.FORCED_TICKET, true, 0),
+    PORTAL(5, TicketManager.PORTAL_TICKET, true, 300),
+    POST_TELEPORT(6, TicketManager.POST_TELEPORT_TICKET, false, 5),
+    TEMPORARY(7, TicketManager.TEMPORARY_TICKET, false, 1);
+
+    private static final TicketType[] BY_ID = new TicketType[8];
+
+    static {
+        for (TicketType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final byte id;
+    private final short value;
+    private final boolean persistent;
+    private final int lifetime;
+
+    TicketType(int id, short value, boolean persistent, int lifetime) {
+        this.id = (byte) id;
+        this.value = value;
+        this.persistent = persistent;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * @return the id of this type in the ticket file, never reused
+     */
+    public byte id() {
+        return id;
+    }
+
+    public short value() {
+        return value;
+    }
+
+    /**
+     * @return true if tickets of this type are saved with the world
+     */
+    public boolean persistent() {
+        return persistent;
+    }
+
+    /**
+     * @return the amount of ticks tickets of this type last before being removed, or 0 if they never expire
+     */
+    public int lifetime() {
+        return lifetime;
+    }
+
+    public static @Nullable TicketType fromId(byte id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+
+    public @NotNull TicketManager.Ticket at(long chunk) {
+        return TicketManager.Ticket.from(this, chunk);
+    }
+}
@@ -5,31 +5,40 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Stream;
 
 public class TicketUtils {
 
+    /**
+     * @return the tickets queued for addition, that have not been applied yet
+     */
     public static @NotNull List<TicketManager.Ticket> waitingTickets(@NotNull Instance instance) {
-        return instance.getTag(TicketManager.WAITING_TICKETS_TAG);
+        return TicketQueue.of(instance).pending(true);
     }
 
+    /**
+     * Queues these tickets for addition, they are applied during the next instance tick.
+     */
     public static void waitingTickets(@NotNull Instance instance, @NotNull Collection<TicketManager.Ticket> ticketsToAdd) {
-        List<TicketManager.Ticket> newWaitingTickets = Stream.concat(
-                waitingTickets(instance).stream(),
-                ticketsToAdd.stream()
-        ).toList();
-        instance.setTag(TicketManager.WAITING_TICKETS_TAG, newWaitingTickets);
+        TicketQueue queue = TicketQueue.of(instance);
+        for (TicketManager.Ticket ticket : ticketsToAdd) {
+            queue.add(ticket);
+        }
     }
 
+    /**
+     * @return the tickets queued for removal, that have not been applied yet
+     */
     public static @NotNull List<TicketManager.Ticket> removingTickets(Instance instance) {
-        return instance.getTag(TicketManager.REMOVING_TICKETS_TAG);
+        return TicketQueue.of(instance).pending(false);
     }
 
+    /**
+     * Queues these tickets for removal, they are applied during the next instance tick.
+     */
     public static void removingTickets(Instance instance, @NotNull Collection<TicketManager.Ticket> from) {
-        List<TicketManager.Ticket> newRemovingTickets = Stream.concat(
-                removingTickets(instance).stream(),
-                from.stream()
-        ).toList();
-        instance.setTag(TicketManager.REMOVING_TICKETS_TAG, newRemovingTickets);
+        TicketQueue queue = TicketQueue.of(instance);
+        for (TicketManager.Ticket ticket : from) {
+            queue.remove(ticket);
+        }
     }
 }
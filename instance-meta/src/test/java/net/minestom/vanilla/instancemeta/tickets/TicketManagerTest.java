@@ -0,0 +1,185 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketManagerTest {
+
+    private static final long ORIGIN = ChunkUtils.getChunkIndex(0, 0);
+
+    @Test
+    public void removedTicketDoesNotExpireAnotherOne() {
+        TicketManager manager = new TicketManager();
+        manager.expire(0);
+        // A permanent ticket with the same value as a portal ticket
+        manager.addTicket(TicketType.PORTAL.value(), ORIGIN);
+        manager.addTicket(TicketType.PORTAL.at(ORIGIN));
+        manager.removeTicket(TicketType.PORTAL.at(ORIGIN));
+
+        manager.expire(TicketType.PORTAL.lifetime());
+        assertEquals(TicketType.PORTAL.value(), manager.getTicketValue(ORIGIN));
+    }
+
+    @Test
+    public void removedTicketForgetsOnlyOneExpiry() {
+        TicketManager manager = new TicketManager();
+        manager.expire(0);
+        manager.addTicket(TicketType.PORTAL.at(ORIGIN));
+        manager.expire(100);
+        manager.addTicket(TicketType.PORTAL.at(ORIGIN));
+        manager.removeTicket(TicketType.PORTAL.at(ORIGIN));
+
+        // One ticket is left, expiring at 100 + lifetime
+        manager.expire(TicketType.PORTAL.lifetime());
+        assertEquals(TicketType.PORTAL.value(), manager.getTicketValue(ORIGIN));
+        manager.expire(100 + TicketType.PORTAL.lifetime());
+        assertEquals(0, manager.getTicketValue(ORIGIN));
+    }
+
+    @Test
+    public void ticketExpires() {
+        TicketManager manager = new TicketManager();
+        manager.expire(0);
+        manager.addTicket(TicketType.POST_TELEPORT.at(ORIGIN));
+        manager.expire(TicketType.POST_TELEPORT.lifetime() - 1);
+        assertEquals(TicketType.POST_TELEPORT.value(), manager.getTicketValue(ORIGIN));
+        manager.expire(TicketType.POST_TELEPORT.lifetime());
+        assertEquals(0, manager.getTicketValue(ORIGIN));
+    }
+
+    @Test
+    public void ticketSpreadsOneLessPerChunk() {
+        TicketManager manager = new TicketManager();
+        manager.addTicket((short) 4, ORIGIN);
+
+        for (int x = -5; x <= 5; x++) {
+            for (int z = -5; z <= 5; z++) {
+                int distance = Math.max(Math.abs(x), Math.abs(z));
+                assertEquals(Math.max(4 - distance, 0), manager.getTicketValue(ChunkUtils.getChunkIndex(x, z)),
+                        "chunk " + x + ", " + z);
+            }
+        }
+    }
+
+    @Test
+    public void removingTicketFallsBackToOtherSources() {
+        TicketManager manager = new TicketManager();
+        long east = ChunkUtils.getChunkIndex(3, 0);
+        manager.addTicket((short) 5, ORIGIN);
+        manager.addTicket((short) 3, east);
+        assertEquals(3, manager.getTicketValue(ChunkUtils.getChunkIndex(2, 0)));
+
+        manager.removeTicket(ORIGIN, (short) 5);
+        assertEquals(0, manager.getTicketValue(ORIGIN));
+        assertEquals(1, manager.getTicketValue(ChunkUtils.getChunkIndex(1, 0)));
+        assertEquals(2, manager.getTicketValue(ChunkUtils.getChunkIndex(2, 0)));
+        assertEquals(3, manager.getTicketValue(east));
+        assertEquals(0, manager.getTicketValue(ChunkUtils.getChunkIndex(-1, 0)));
+    }
+
+    @Test
+    public void changedChunksAreDrainedOnce() {
+        TicketManager manager = new TicketManager();
+        manager.addTicket((short) 2, ORIGIN);
+
+        LongSet changed = new LongOpenHashSet();
+        manager.drainChangedChunks(changed::add);
+        // The chunk itself and its 8 neighbours
+        assertEquals(9, changed.size());
+
+        changed.clear();
+        manager.drainChangedChunks(changed::add);
+        assertTrue(changed.isEmpty());
+    }
+
+    @Test
+    public void expiredTicketClearsItsNeighbours() {
+        TicketManager manager = new TicketManager();
+        manager.expire(0);
+        manager.addTicket(TicketType.PORTAL.at(ORIGIN));
+        assertTrue(manager.getTicketValue(ChunkUtils.getChunkIndex(1, 1)) > 0);
+
+        manager.expire(TicketType.PORTAL.lifetime());
+        for (int x = -5; x <= 5; x++) {
+            for (int z = -5; z <= 5; z++) {
+                assertEquals(0, manager.getTicketValue(ChunkUtils.getChunkIndex(x, z)));
+            }
+        }
+    }
+
+    @Test
+    public void incrementalValuesMatchRecomputedValues() {
+        Random random = new Random(42);
+        TicketManager manager = new TicketManager();
+        List<TicketManager.Ticket> tickets = new ArrayList<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            if (tickets.isEmpty() || random.nextInt(3) != 0) {
+                TicketManager.Ticket ticket = TicketManager.Ticket.from((short) (1 + random.nextInt(6)),
+                        ChunkUtils.getChunkIndex(random.nextInt(13) - 6, random.nextInt(13) - 6));
+                tickets.add(ticket);
+                manager.addTicket(ticket);
+            } else {
+                manager.removeTicket(tickets.remove(random.nextInt(tickets.size())));
+            }
+
+            if (step % 50 == 0) assertValues(manager, tickets);
+        }
+        assertValues(manager, tickets);
+    }
+
+    @Test
+    public void batchedChangesMatchSingleChanges() {
+        Random random = new Random(42);
+        TicketManager single = new TicketManager();
+        TicketManager batched = new TicketManager();
+        List<TicketManager.Ticket> tickets = new ArrayList<>();
+
+        for (int batch = 0; batch < 100; batch++) {
+            List<TicketQueue.Change> changes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                if (tickets.isEmpty() || random.nextInt(3) != 0) {
+                    TicketManager.Ticket ticket = TicketManager.Ticket.from((short) (1 + random.nextInt(6)),
+                            ChunkUtils.getChunkIndex(random.nextInt(13) - 6, random.nextInt(13) - 6));
+                    tickets.add(ticket);
+                    single.addTicket(ticket);
+                    changes.add(new TicketQueue.Change(ticket, true));
+                } else {
+                    TicketManager.Ticket ticket = tickets.remove(random.nextInt(tickets.size()));
+                    single.removeTicket(ticket);
+                    changes.add(new TicketQueue.Change(ticket, false));
+                }
+            }
+            batched.apply(changes);
+            assertValues(batched, tickets);
+            assertValues(single, tickets);
+        }
+    }
+
+    /**
+     * Checks the value of every chunk around the origin against the value recomputed from scratch: the highest ticket
+     * value minus the distance to the ticket.
+     */
+    private static void assertValues(TicketManager manager, List<TicketManager.Ticket> tickets) {
+        for (int x = -14; x <= 14; x++) {
+            for (int z = -14; z <= 14; z++) {
+                int expected = 0;
+                for (TicketManager.Ticket ticket : tickets) {
+                    int distance = Math.max(Math.abs(x - ChunkUtils.getChunkCoordX(ticket.chunk())),
+                            Math.abs(z - ChunkUtils.getChunkCoordZ(ticket.chunk())));
+                    expected = Math.max(expected, ticket.value() - distance);
+                }
+                assertEquals(expected, manager.getTicketValue(ChunkUtils.getChunkIndex(x, z)),
+                        "chunk " + x + ", " + z);
+            }
+        }
+    }
+}
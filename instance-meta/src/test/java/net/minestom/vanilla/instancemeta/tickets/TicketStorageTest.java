@@ -0,0 +1,104 @@
+package net.minestom.vanilla.instancemeta.tickets;
+
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketStorageTest {
+
+    // Far enough apart that the tickets do not spread to each other
+    private static final long FORCED_CHUNK = ChunkUtils.getChunkIndex(0, 0);
+    private static final long PORTAL_CHUNK = ChunkUtils.getChunkIndex(20, 0);
+    private static final long PLAYER_CHUNK = ChunkUtils.getChunkIndex(-20, 0);
+
+    @TempDir
+    Path world;
+
+    @Test
+    public void persistentTicketsRoundTrip() {
+        TicketManager saved = new TicketManager();
+        saved.expire(100);
+        saved.addTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        saved.addTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        saved.addTicket(TicketType.PORTAL.at(PORTAL_CHUNK));
+        saved.addTicket(TicketType.PLAYER.at(PLAYER_CHUNK));
+        // The portal ticket has 250 ticks left when saved
+        saved.expire(150);
+        new TicketStorage(world).save(saved);
+
+        TicketManager loaded = new TicketManager();
+        loaded.expire(1_000);
+        new TicketStorage(world).load(loaded, 1_000);
+
+        assertEquals(TicketType.FORCED.value(), loaded.getTicketValue(FORCED_CHUNK));
+        assertEquals(TicketType.PORTAL.value(), loaded.getTicketValue(PORTAL_CHUNK));
+        assertEquals(0, loaded.getTicketValue(PLAYER_CHUNK), "player tickets are not saved");
+
+        // Both forced tickets were saved
+        loaded.removeTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        assertEquals(TicketType.FORCED.value(), loaded.getTicketValue(FORCED_CHUNK));
+        loaded.removeTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        assertEquals(0, loaded.getTicketValue(FORCED_CHUNK));
+
+        // The portal ticket keeps its remaining lifetime
+        loaded.expire(1_249);
+        assertEquals(TicketType.PORTAL.value(), loaded.getTicketValue(PORTAL_CHUNK));
+        loaded.expire(1_250);
+        assertEquals(0, loaded.getTicketValue(PORTAL_CHUNK));
+    }
+
+    @Test
+    public void unchangedTicketsAreNotRewritten() throws IOException {
+        TicketManager manager = new TicketManager();
+        manager.addTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        TicketStorage storage = new TicketStorage(world);
+        storage.save(manager);
+        Path file = ticketFile();
+        assertTrue(Files.exists(file));
+
+        Files.delete(file);
+        storage.save(manager);
+        assertFalse(Files.exists(file));
+
+        manager.removeTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        storage.save(manager);
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    public void loadedTicketsAreNotRewritten() throws IOException {
+        TicketManager saved = new TicketManager();
+        saved.addTicket(TicketType.FORCED.at(FORCED_CHUNK));
+        TicketStorage storage = new TicketStorage(world);
+        storage.save(saved);
+
+        TicketManager loaded = new TicketManager();
+        storage.load(loaded, 0);
+        Files.delete(ticketFile());
+        storage.save(loaded);
+        assertFalse(Files.exists(ticketFile()));
+    }
+
+    @Test
+    public void missingOrForeignFileLoadsNothing() throws IOException {
+        TicketManager manager = new TicketManager();
+        TicketStorage storage = new TicketStorage(world);
+        storage.load(manager, 0);
+        assertEquals(0, manager.getTicketValue(FORCED_CHUNK));
+
+        Files.createDirectories(ticketFile().getParent());
+        Files.write(ticketFile(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        storage.load(manager, 0);
+        assertEquals(0, manager.getTicketValue(FORCED_CHUNK));
+    }
+
+    private Path ticketFile() {
+        return world.resolve("data").resolve("vri_tickets.dat");
+    }
+}
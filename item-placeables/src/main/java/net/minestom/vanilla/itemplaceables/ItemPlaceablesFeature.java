@@ -8,6 +8,7 @@ import net.minestom.server.item.Material;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaRegistry;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.instance.BlockChanges;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
@@ -32,7 +33,7 @@ public class ItemPlaceablesFeature implements VanillaReimplementation.Feature {
             Block block = itemPlaceables.get(item.material());
             if (block == null) return;
             position = position.relative(face);
-            event.getInstance().setBlock(position, block);
+            BlockChanges.setBlock(event.getInstance(), position, block);
         });
     }
 
@@ -7,6 +7,7 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.utils.Direction;
+import net.minestom.vanilla.instance.BlockChanges;
 import net.minestom.vanilla.inventory.InventoryManipulation;
 
 public class FlintAndSteelHandler implements VanillaItemHandler {
@@ -34,7 +35,7 @@ public class FlintAndSteelHandler implements VanillaItemHandler {
 
         if (atFirePosition.isAir()) {
             InventoryManipulation.damageItemIfNotCreative(player, hand, 1);
-            instance.setBlock(firePosition, Block.FIRE);
+            BlockChanges.setBlock(instance, firePosition, Block.FIRE);
             return true;
         }
 
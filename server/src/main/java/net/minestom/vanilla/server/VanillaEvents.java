@@ -24,11 +24,17 @@ import net.minestom.server.inventory.PlayerInventory;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.network.ConnectionManager;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.time.TimeUnit;
 import net.minestom.vanilla.generation.VanillaTestGenerator;
+import net.minestom.vanilla.instance.SaveVanillaInstanceEvent;
 import net.minestom.vanilla.instance.VanillaExplosion;
+import net.minestom.vanilla.instancemeta.tickets.TicketType;
+import net.minestom.vanilla.instancemeta.tickets.TicketUtils;
 import net.minestom.vanilla.system.ServerProperties;
 
+import java.util.List;
+
 public class VanillaEvents {
 
     public static void register(VanillaServer server, ServerProperties properties, EventNode<Event> eventNode) {
@@ -36,13 +42,15 @@ public class VanillaEvents {
 
         ExplosionSupplier explosionGenerator = (centerX, centerY, centerZ, strength, additionalData) -> {
 
-            boolean isTNT = additionalData != null && Boolean.TRUE.equals(additionalData.get(VanillaExplosion.DROP_EVERYTHING_KEY));
+            boolean dropEverything = additionalData != null && Boolean.TRUE.equals(additionalData.get(VanillaExplosion.DROP_EVERYTHING_KEY));
+            boolean isTNT = additionalData != null && Boolean.TRUE.equals(additionalData.get(VanillaExplosion.IS_TNT_KEY));
             boolean noBlockDamage = additionalData != null && Boolean.TRUE.equals(additionalData.get(VanillaExplosion.DONT_DESTROY_BLOCKS_KEY));
 
             return VanillaExplosion.builder(new Pos(centerX, centerY, centerZ), strength)
                     .destroyBlocks(!noBlockDamage)
                     .isFlaming(false)
-                    .dropEverything(isTNT)
+                    .dropEverything(dropEverything)
+                    .tnt(isTNT)
                     .build();
         };
 
@@ -67,13 +75,9 @@ public class VanillaEvents {
 //        end.setExplosionSupplier(explosionGenerator);
 //        end.setChunkLoader(new AnvilChunkLoader(storageManager.getLocation(worldName + "/DIM1/region")));
 
-        // Load some chunks beforehand
-        int loopStart = -2;
-        int loopEnd = 2;
-        for (int x = loopStart; x < loopEnd; x++)
-            for (int z = loopStart; z < loopEnd; z++) {
-                overworld.loadChunk(x, z);
-            }
+        // Keep the spawn chunks loaded, like vanilla's start ticket
+        TicketUtils.waitingTickets(overworld, List.of(
+                TicketType.START.at(ChunkUtils.getChunkIndex(0, 0))));
 
         eventNode.addListener(AddEntityToInstanceEvent.class, event -> {
             Entity entity = event.getEntity();
@@ -85,6 +89,7 @@ public class VanillaEvents {
 
         MinecraftServer.getSchedulerManager().buildShutdownTask(() -> {
             try {
+                MinecraftServer.getGlobalEventHandler().call(new SaveVanillaInstanceEvent(overworld));
                 overworld.saveInstance();
             } catch (Throwable e) {
                 e.printStackTrace();